@@ -0,0 +1,73 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cro.settings.PropertiesLoader;
+
+/*
+* Config lookups done on every scenario (role credentials, browser, optional feature flags).
+* Single-threaded vs 8 threads shows whether the cached lookups contend.
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmark.xml")
+public class ConfigLookupBenchmark {
+
+	@Setup
+	public void warmCache() throws IOException {
+		PropertiesLoader.loadCached();
+	}
+
+	@Benchmark
+	@Threads(1)
+	public String requiredProperty() throws IOException {
+		return PropertiesLoader.getRequiredPropertyCached("base.url");
+	}
+
+	@Benchmark
+	@Threads(8)
+	public String requiredPropertyContended() throws IOException {
+		return PropertiesLoader.getRequiredPropertyCached("base.url");
+	}
+
+	// Optional lookups also consult JVM properties (case-insensitive) before the env config
+	@Benchmark
+	@Threads(1)
+	public String optionalProperty() throws IOException {
+		return PropertiesLoader.getOptionalPropertyCached("coverage.record", "false");
+	}
+
+	@Benchmark
+	@Threads(8)
+	public String optionalPropertyContended() throws IOException {
+		return PropertiesLoader.getOptionalPropertyCached("coverage.record", "false");
+	}
+
+	@Benchmark
+	@Threads(8)
+	public String roleCredentialsContended() throws IOException {
+		return PropertiesLoader.getUsernameForRole("edit");
+	}
+
+	@Benchmark
+	@Threads(8)
+	public String effectiveBrowserContended() throws IOException {
+		return PropertiesLoader.effectiveBrowserCached();
+	}
+}
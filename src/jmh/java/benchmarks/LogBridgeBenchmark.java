@@ -0,0 +1,64 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cro.listeners.LogBridge;
+import com.cro.listeners.ScenarioContext;
+
+/*
+* LogBridge throughput: Log4j2 (benchmark config writes to target/, no console) + the Extent bridge.
+* Outside a scenario the Extent call is skipped; inside one it is attempted (no active Extent test here,
+* so the adapter's failure path is what gets measured - the cost every log line pays when Extent is off).
+*/
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmark.xml")
+public class LogBridgeBenchmark {
+
+	@State(Scope.Thread)
+	public static class InScenario {
+		@Setup(Level.Trial)
+		public void enter() {
+			ScenarioContext.init("benchmark-scenario-" + Thread.currentThread().threadId());
+		}
+
+		@TearDown(Level.Trial)
+		public void leave() {
+			ScenarioContext.clear();
+		}
+	}
+
+	@Benchmark
+	@Threads(1)
+	public void infoOutsideScenario() {
+		LogBridge.info("benchmark log line");
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void infoOutsideScenarioContended() {
+		LogBridge.info("benchmark log line");
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void infoInScenarioContended(InScenario scenario) {
+		LogBridge.info("benchmark log line");
+	}
+}
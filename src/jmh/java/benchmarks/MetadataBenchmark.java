@@ -0,0 +1,58 @@
+package benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cro.extentreporting.ExtentReportMetada;
+import com.cro.listeners.ScenarioContext;
+
+/*
+* Per-scenario bookkeeping: ExtentReportMetada.put (same key from every scenario, e.g. "User [Role: edit]",
+* and a spread of keys) and the ScenarioContext ThreadLocals touched by every scenario and step.
+*/
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmark.xml")
+public class MetadataBenchmark {
+
+	private static final String[] KEYS = new String[256];
+	static {
+		for (int i = 0; i < KEYS.length; i++) {
+			KEYS[i] = "User [Role: role" + i + "]";
+		}
+	}
+
+	@Benchmark
+	@Threads(8)
+	public void putSameKeyContended() {
+		ExtentReportMetada.put("User [Role: edit]", "validation05");
+	}
+
+	@Benchmark
+	@Threads(8)
+	public void putSpreadKeysContended() {
+		ExtentReportMetada.put(KEYS[ThreadLocalRandom.current().nextInt(KEYS.length)], "user");
+	}
+
+	@Benchmark
+	@Threads(8)
+	public String scenarioContextLifecycle() {
+		ScenarioContext.init("benchmark-scenario");
+		ScenarioContext.markStepStart();
+		ScenarioContext.stepDuration();
+		String name = ScenarioContext.getScenarioName();
+		ScenarioContext.clear();
+		return name;
+	}
+}
@@ -0,0 +1,82 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cro.playwright.SessionManager;
+import com.cro.settings.PathManager;
+
+/*
+* SessionManager.getOrCreateSession under contention.
+*  - reuse: every thread asks for the same existing session (the path taken by all scenarios after the first)
+*  - create: every call needs a new session, so the per-user lock + file creation are measured (login replaced by a file write)
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Dlog4j2.configurationFile=log4j2-benchmark.xml", "-Drun.id=jmh" })
+public class SessionAcquireBenchmark {
+
+	private static final String ROLE = "edit";
+	private static final String USER = "benchmark";
+
+	private final AtomicLong newUsers = new AtomicLong();
+
+	@Setup
+	public void createSharedSession() throws IOException {
+		PathManager.createRequiredDirs();
+		writeSession(ROLE, USER);
+	}
+
+	@TearDown
+	public void cleanSessions() throws IOException {
+		try (Stream<Path> files = Files.list(PathManager.sessionDir())) {
+			for (Path f : files.filter(p -> p.getFileName().toString().startsWith(ROLE + "_")).toList()) {
+				Files.deleteIfExists(f);
+			}
+		}
+	}
+
+	@Benchmark
+	@Threads(8)
+	public Path reuseContended() {
+		return SessionManager.getOrCreateSession(ROLE, USER, () -> {
+			throw new IllegalStateException("Shared session must already exist");
+		});
+	}
+
+	@Benchmark
+	@Threads(8)
+	public Path createContended() {
+		String user = USER + "-" + newUsers.incrementAndGet();
+		return SessionManager.getOrCreateSession(ROLE, user, () -> writeSession(ROLE, user));
+	}
+
+	private static void writeSession(String role, String user) {
+		try {
+			Files.writeString(PathManager.sessionDir().resolve(role + "_" + user + ".json"), "{\"cookies\":[],\"origins\":[]}");
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
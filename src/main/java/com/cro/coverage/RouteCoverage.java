@@ -0,0 +1,117 @@
+package com.cro.coverage;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import com.cro.settings.PropertiesLoader;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+
+/**
+ * Records which app routes / API endpoints a scenario touches (-Dcoverage.record=true).
+ *
+ * A request listener is attached in BrowserManager.createContext; the set of the LAST context created on a
+ * thread belongs to the running scenario (login contexts created before it are replaced, so shared login
+ * traffic is not attributed to every scenario).
+ *
+ * Only documents and XHR/fetch calls to the application hosts (base.url, api.base.url) are recorded,
+ * normalized to "METHOD /path" with ids collapsed to {id} and the query string dropped.
+ */
+public final class RouteCoverage {
+
+	private static final Set<String> RECORDED_TYPES = Set.of("document", "xhr", "fetch");
+	// numeric ids, UUIDs and long hex/base64-like tokens → {id}; a long token needs a digit, so readable
+	// path words (notification-preferences-advanced, camelCase names) stay distinct routes
+	private static final Pattern ID_SEGMENT = Pattern.compile(
+			"\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|[0-9a-fA-F]{16,}"
+			+ "|(?=[A-Za-z_-]*\\d)[A-Za-z0-9_-]{24,}");
+
+	private static final ThreadLocal<Set<String>> TL_ROUTES = new ThreadLocal<>();
+
+	private static volatile Set<String> appHosts;
+
+	private RouteCoverage() {
+		// prevent instantiation
+	}
+
+	public static boolean isEnabled() throws IOException {
+		return PropertiesLoader.getBooleanPropertyCached("coverage.record", false);
+	}
+
+	/** Starts a fresh route set for the current thread and feeds it from the context's requests. */
+	public static void attach(BrowserContext context) {
+		try {
+			if (!isEnabled()) return;
+			Set<String> hosts = hosts();
+			Set<String> routes = ConcurrentHashMap.newKeySet();
+			TL_ROUTES.set(routes);
+			context.onRequest(request -> record(request, hosts, routes));
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to read coverage settings", e);
+		}
+	}
+
+	/** Routes recorded for the current thread's scenario context; clears the thread's state. */
+	public static Set<String> takeRoutes() {
+		Set<String> routes = TL_ROUTES.get();
+		TL_ROUTES.remove();
+		return (routes == null) ? null : Set.copyOf(routes);
+	}
+
+	/** "GET", "/api/countries/42?x=1" → "GET /api/countries/{id}". */
+	public static String normalize(String method, String path) {
+		return method.toUpperCase(Locale.ROOT) + " " + normalizePath(path);
+	}
+
+	/** "/api/countries/42?x=1" → "/api/countries/{id}". */
+	public static String normalizePath(String path) {
+		String p = path;
+		int q = p.indexOf('?');
+		if (q >= 0) p = p.substring(0, q);
+		int h = p.indexOf('#');
+		if (h >= 0) p = p.substring(0, h);
+		if (p.isEmpty()) p = "/";
+
+		StringBuilder sb = new StringBuilder();
+		for (String segment : p.split("/")) {
+			if (segment.isEmpty()) continue;
+			sb.append('/').append(ID_SEGMENT.matcher(segment).matches() ? "{id}" : segment);
+		}
+		if (sb.length() == 0) sb.append('/');
+		return sb.toString();
+	}
+
+	// --------- internal ---------
+
+	private static void record(Request request, Set<String> hosts, Set<String> routes) {
+		if (!RECORDED_TYPES.contains(request.resourceType())) return;
+		try {
+			URI uri = URI.create(request.url());
+			if (uri.getHost() == null || !hosts.contains(uri.getHost().toLowerCase(Locale.ROOT))) return;
+			routes.add(normalize(request.method(), uri.getRawPath() == null ? "/" : uri.getRawPath()));
+		} catch (IllegalArgumentException ignored) {
+			// data:, blob: or malformed URLs are not routes
+		}
+	}
+
+	private static Set<String> hosts() throws IOException {
+		Set<String> hosts = appHosts;
+		if (hosts == null) {
+			Set<String> resolved = new HashSet<>();
+			for (String key : new String[] { "base.url", "api.base.url" }) {
+				String url = PropertiesLoader.getOptionalPropertyCached(key, null);
+				if (url != null && !url.isBlank()) {
+					String host = URI.create(url.trim()).getHost();
+					if (host != null) resolved.add(host.toLowerCase(Locale.ROOT));
+				}
+			}
+			hosts = appHosts = Set.copyOf(resolved);
+		}
+		return hosts;
+	}
+}
@@ -0,0 +1,209 @@
+package com.cro.coverage;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.cro.extentreporting.ExtentReportMetada;
+import com.cro.features.PickleInfo;
+import com.cro.settings.PathManager;
+import com.cro.settings.PropertiesLoader;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * Route coverage index persisted between runs: scenario id ("uri:line") → routes it touched.
+ *
+ * Recording: -Dcoverage.record=true, merged into PathManager.cacheDir()/route-coverage.json at the end of the run
+ * (a passed scenario replaces its entry, a failed one only adds routes, since it may have stopped early).
+ *
+ * Selection: -Dchanged.routes="GET /api/countries/{id},/config/*" (or -Dchanged.routes.file=&lt;path&gt;, one per line)
+ * runs only scenarios touching a changed route. Entries without a method match any method, a trailing '*'
+ * matches by prefix, and ids are collapsed like recorded routes. Scenarios missing from the index are
+ * always selected — no coverage is not the same as no impact.
+ */
+public final class RouteCoverageIndex {
+
+	private static final String INDEX_FILE = "route-coverage.json";
+	private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+	private static final Map<String, ScenarioRoutes> RECORDED = new TreeMap<>();
+
+	/** JSON shape of one entry. */
+	private static final class ScenarioRoutes {
+		String name;
+		Set<String> routes = new TreeSet<>();
+		transient boolean partial;
+	}
+
+	private static final class IndexFile {
+		Map<String, ScenarioRoutes> scenarios = new TreeMap<>();
+	}
+
+	private RouteCoverageIndex() {
+		// prevent instantiation
+	}
+
+	// =========================
+	// Recording
+	// =========================
+	public static void record(String scenarioId, String name, Set<String> routes, boolean passed) {
+		synchronized (RECORDED) {
+			ScenarioRoutes entry = new ScenarioRoutes();
+			entry.name = name;
+			entry.routes.addAll(routes);
+			entry.partial = !passed; // may have stopped early → keep routes of earlier runs as well
+			RECORDED.put(scenarioId, entry);
+		}
+	}
+
+	/** Merges this run's recordings into the persisted index. */
+	public static void save() throws IOException {
+		synchronized (RECORDED) {
+			if (RECORDED.isEmpty()) return;
+
+			IndexFile index = load();
+			int routes = 0;
+			for (Map.Entry<String, ScenarioRoutes> e : RECORDED.entrySet()) {
+				ScenarioRoutes recorded = e.getValue();
+				ScenarioRoutes previous = index.scenarios.get(e.getKey());
+				if (recorded.partial && previous != null) {
+					recorded.routes.addAll(previous.routes);
+				}
+				index.scenarios.put(e.getKey(), recorded);
+				routes += recorded.routes.size();
+			}
+
+			Path file = indexFile();
+			Files.createDirectories(file.getParent());
+			Path tmp = file.resolveSibling(INDEX_FILE + ".tmp");
+			try (Writer w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+				GSON.toJson(index, w);
+			}
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			ExtentReportMetada.put("Route Coverage", RECORDED.size() + " scenario(s) recorded, " + routes
+					+ " route(s); index=" + index.scenarios.size() + " scenario(s)");
+		}
+	}
+
+	// =========================
+	// Selection
+	// =========================
+
+	/** Changed routes from -Dchanged.routes / -Dchanged.routes.file; empty = no impact selection. */
+	public static List<String> changedRoutes() throws IOException {
+		List<String> result = new ArrayList<>();
+		String inline = PropertiesLoader.getOptionalPropertyCached("changed.routes", null);
+		if (inline != null) {
+			for (String r : inline.split(",")) {
+				if (!r.isBlank()) result.add(r.trim());
+			}
+		}
+		String file = PropertiesLoader.getOptionalPropertyCached("changed.routes.file", null);
+		if (file != null && !file.isBlank()) {
+			for (String r : Files.readAllLines(Paths.get(file.trim()), StandardCharsets.UTF_8)) {
+				if (!r.isBlank() && !r.trim().startsWith("#")) result.add(r.trim());
+			}
+		}
+		return result;
+	}
+
+	/** Matcher over the persisted index, built once before scenario selection. */
+	public static Selector selector(List<String> changedRoutes) throws IOException {
+		return new Selector(load(), changedRoutes);
+	}
+
+	public static final class Selector {
+		private final IndexFile index;
+		private final List<String[]> patterns = new ArrayList<>(); // [method or null, path, "*" or null]
+		private int selected;
+		private int skipped;
+		private int unknown;
+
+		private Selector(IndexFile index, List<String> changedRoutes) {
+			this.index = index;
+			for (String route : changedRoutes) {
+				String r = route.trim();
+				String method = null;
+				int space = r.indexOf(' ');
+				if (space > 0) {
+					method = r.substring(0, space);
+					r = r.substring(space + 1).trim();
+				}
+				boolean prefix = r.endsWith("*");
+				if (prefix) r = r.substring(0, r.length() - 1);
+				String path = RouteCoverage.normalizePath(r);
+				if (prefix && r.endsWith("/") && !path.endsWith("/")) path = path + "/";
+				patterns.add(new String[] { method == null ? null : method.toUpperCase(Locale.ROOT), path, prefix ? "*" : null });
+			}
+		}
+
+		/** True when the scenario touches a changed route or has no coverage recorded yet. */
+		public boolean isImpacted(URI featureUri, int line) {
+			ScenarioRoutes entry = index.scenarios.get(PickleInfo.id(featureUri.toString(), line));
+			if (entry == null) {
+				unknown++;
+				selected++;
+				return true;
+			}
+			for (String route : entry.routes) {
+				if (matches(route)) {
+					selected++;
+					return true;
+				}
+			}
+			skipped++;
+			return false;
+		}
+
+		public void report(int total) {
+			String summary = selected + " of " + total + " scenario(s) selected (" + unknown + " without coverage), "
+					+ skipped + " not impacted by " + patterns.size() + " changed route(s)";
+			ExtentReportMetada.put("Impact Selection", summary);
+			System.out.println("[RouteCoverage] " + summary);
+		}
+
+		private boolean matches(String route) {
+			int space = route.indexOf(' ');
+			String method = route.substring(0, space);
+			String path = route.substring(space + 1);
+			for (String[] p : patterns) {
+				if (p[0] != null && !p[0].equals(method)) continue;
+				if (p[2] != null ? path.startsWith(p[1]) : path.equals(p[1])) return true;
+			}
+			return false;
+		}
+	}
+
+	// --------- internal ---------
+
+	private static IndexFile load() throws IOException {
+		Path file = indexFile();
+		if (!Files.exists(file)) return new IndexFile();
+		try (Reader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			IndexFile index = GSON.fromJson(r, IndexFile.class);
+			return (index == null || index.scenarios == null) ? new IndexFile() : index;
+		} catch (JsonSyntaxException e) {
+			System.out.println("[RouteCoverage] Ignoring unreadable index " + file + ": " + e.getMessage());
+			return new IndexFile();
+		}
+	}
+
+	private static Path indexFile() {
+		return PathManager.cacheDir().resolve(INDEX_FILE);
+	}
+}
@@ -0,0 +1,129 @@
+package com.cro.db;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded JDBC connection pool (plain java.sql, no extra dependency).
+ *
+ * Connections are opened lazily up to maxSize and kept open for the whole run,
+ * which also keeps named in-memory databases (jdbc:h2:mem:...) alive.
+ * Lease wait time is measured so pool sizing problems show up in the report.
+ */
+public final class ConnectionPool implements AutoCloseable {
+
+	private final String url;
+	private final String username;
+	private final String password;
+	private final int maxSize;
+	private final long maxWaitMs;
+
+	private final LinkedBlockingDeque<Connection> idle = new LinkedBlockingDeque<>();
+	private final AtomicInteger opened = new AtomicInteger();
+	private volatile boolean closed = false;
+
+	// Metrics
+	private final LongAdder leases = new LongAdder();
+	private final LongAdder waitNanos = new LongAdder();
+	private final AtomicLong maxWaitNanos = new AtomicLong();
+
+	public ConnectionPool(String url, String username, String password, int maxSize, long maxWaitMs) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("Pool size must be >= 1 but was " + maxSize);
+		}
+		this.url = url;
+		this.username = username;
+		this.password = password;
+		this.maxSize = maxSize;
+		this.maxWaitMs = maxWaitMs;
+	}
+
+	/** Borrow a connection; blocks up to maxWaitMs when every connection is leased. */
+	public Connection lease() throws SQLException {
+		if (closed) {
+			throw new IllegalStateException("Connection pool already closed");
+		}
+		long start = System.nanoTime();
+		try {
+			Connection c = idle.pollFirst();
+			if (c == null) {
+				c = openIfCapacity();
+			}
+			if (c == null) {
+				c = idle.pollFirst(maxWaitMs, TimeUnit.MILLISECONDS);
+			}
+			if (c == null) {
+				throw new IllegalStateException("Timed out after " + maxWaitMs + "ms waiting for a DB connection (pool size="
+						+ maxSize + ")");
+			}
+			return c;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for a DB connection", e);
+		} finally {
+			long waited = System.nanoTime() - start;
+			leases.increment();
+			waitNanos.add(waited);
+			maxWaitNanos.accumulateAndGet(waited, Math::max);
+		}
+	}
+
+	/** Return a connection; broken connections are discarded so capacity is re-opened on demand. */
+	public void release(Connection c) {
+		if (c == null) return;
+		try {
+			if (closed || c.isClosed() || !c.isValid(1)) {
+				discard(c);
+				return;
+			}
+		} catch (SQLException e) {
+			discard(c);
+			return;
+		}
+		idle.offerFirst(c); // LIFO keeps the hottest connections in use
+	}
+
+	private Connection openIfCapacity() throws SQLException {
+		while (true) {
+			int current = opened.get();
+			if (current >= maxSize) return null;
+			if (opened.compareAndSet(current, current + 1)) break;
+		}
+		try {
+			return DriverManager.getConnection(url, username, password);
+		} catch (SQLException | RuntimeException e) {
+			opened.decrementAndGet();
+			throw e;
+		}
+	}
+
+	private void discard(Connection c) {
+		opened.decrementAndGet();
+		try {
+			c.close();
+		} catch (SQLException ignored) {
+			// already broken
+		}
+	}
+
+	public int maxSize()          { return maxSize; }
+	public int openConnections()  { return opened.get(); }
+	public long leaseCount()      { return leases.sum(); }
+	public long totalWaitMs()     { return TimeUnit.NANOSECONDS.toMillis(waitNanos.sum()); }
+	public long maxWaitMs()       { return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()); }
+
+	@Override
+	public void close() {
+		closed = true;
+		Connection c;
+		while ((c = idle.pollFirst()) != null) {
+			discard(c);
+		}
+	}
+}
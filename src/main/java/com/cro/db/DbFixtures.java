@@ -0,0 +1,235 @@
+package com.cro.db;
+
+import java.io.IOException;
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.cro.extentreporting.ExtentReportMetada;
+import com.cro.settings.PropertiesLoader;
+
+/**
+ * Named fixture set loaded ONCE per run, snapshotted, and restored in bulk only when data is dirty.
+ *
+ * Snapshot = copy of every PUBLIC table into schema FIXTURE_SNAPSHOT (same in-memory database).
+ * Restore  = TRUNCATE + INSERT ... SELECT per table: set-based copies, no replay of individual inserts.
+ *
+ * Scenario transactions (DbManager) are rolled back anyway, so data only gets dirty when a scenario
+ * mutates it outside that transaction (typically through the application). Such scenarios are tagged
+ * {@code @dirty_db} or call {@link #markDirty(String)}; the next feature of a thread (or the next @dirty_db
+ * scenario) then starts from a restored snapshot.
+ *
+ * Restores take a write lock, scenarios hold a read lock → a restore never runs under a live scenario.
+ *
+ * Config keys: db.fixture (classpath db/fixtures/&lt;name&gt;.sql)
+ */
+public final class DbFixtures {
+
+	public static final String DIRTY_TAG = "@dirty_db";
+	private static final String SNAPSHOT_SCHEMA = "FIXTURE_SNAPSHOT";
+	private static final String FIXTURE_TEMPLATE = "db/fixtures/%s.sql";
+
+	private static final ReentrantReadWriteLock LOCK = new ReentrantReadWriteLock();
+	private static final AtomicBoolean DIRTY = new AtomicBoolean(false);
+	// Per thread: a parallel run interleaves features across threads, a global "last feature" would flip constantly
+	private static final ThreadLocal<URI> TL_LAST_FEATURE = new ThreadLocal<>();
+	// Set once beforeScenario holds the read lock; afterScenario still runs when an earlier @Before failed
+	private static final ThreadLocal<Boolean> TL_LOCKED = new ThreadLocal<>();
+	private static final Set<String> MUTATING_SCENARIOS = ConcurrentHashMap.newKeySet();
+
+	private static volatile String fixtureName;
+	private static volatile List<SnapshotTable> tables = List.of();
+
+	// Table + statement that puts its identity sequence back to the snapshot's next value (null = no identity column)
+	private record SnapshotTable(String name, String restartIdentitySql) { }
+
+	// Metrics
+	private static final AtomicInteger RESTORES = new AtomicInteger();
+	private static final AtomicLong RESTORE_MS = new AtomicLong();
+	private static volatile long loadMs;
+
+	private DbFixtures() {
+		// prevent instantiation
+	}
+
+	/** Loads the configured fixture set and takes the snapshot; no-op when db.fixture is not set. */
+	public static synchronized void loadAndSnapshot() throws IOException, SQLException {
+		String name = PropertiesLoader.getOptionalPropertyCached("db.fixture", null);
+		if (name == null || fixtureName != null || !DbManager.isInitialized()) {
+			return;
+		}
+		String resource = String.format(FIXTURE_TEMPLATE, name);
+		if (DbFixtures.class.getClassLoader().getResource(resource) == null) {
+			throw new IllegalStateException("DB fixture not found on classpath: " + resource);
+		}
+
+		long start = System.currentTimeMillis();
+		ConnectionPool pool = DbManager.pool();
+		Connection c = pool.lease();
+		try (Statement st = c.createStatement()) {
+			st.execute("RUNSCRIPT FROM 'classpath:/" + resource + "'");
+			tables = snapshotTables(c);
+			st.execute("DROP SCHEMA IF EXISTS " + SNAPSHOT_SCHEMA + " CASCADE");
+			st.execute("CREATE SCHEMA " + SNAPSHOT_SCHEMA);
+			for (SnapshotTable t : tables) {
+				st.execute("CREATE TABLE " + SNAPSHOT_SCHEMA + "." + t.name() + " AS SELECT * FROM PUBLIC." + t.name());
+			}
+		} finally {
+			pool.release(c);
+		}
+		fixtureName = name;
+		loadMs = System.currentTimeMillis() - start;
+		System.out.println("[DbFixtures] Loaded fixture '" + name + "' (" + tables.size() + " tables) and took snapshot in "
+				+ loadMs + "ms");
+	}
+
+	// =========================
+	// Scenario lifecycle
+	// =========================
+
+	/** Restores first if needed (new feature or @dirty_db scenario), then holds the read lock for the scenario. */
+	public static void beforeScenario(URI featureUri, Collection<String> tags) throws SQLException {
+		if (fixtureName == null) return;
+
+		URI previous = TL_LAST_FEATURE.get();
+		TL_LAST_FEATURE.set(featureUri);
+		boolean featureChanged = previous != null && !previous.equals(featureUri);
+		if (DIRTY.get() && (featureChanged || tags.contains(DIRTY_TAG))) {
+			restore(featureChanged ? "feature changed" : DIRTY_TAG + " scenario");
+		}
+		LOCK.readLock().lock();
+		TL_LOCKED.set(Boolean.TRUE);
+	}
+
+	/**
+	 * Releases the read lock if beforeScenario took it (not the case when an earlier @Before or the restore failed);
+	 * scenarios tagged @dirty_db always leave the data dirty.
+	 */
+	public static void afterScenario(String scenarioName, Collection<String> tags) {
+		if (fixtureName == null) return;
+		try {
+			if (tags.contains(DIRTY_TAG)) {
+				markDirty(scenarioName);
+			}
+		} finally {
+			if (TL_LOCKED.get() != null) {
+				TL_LOCKED.remove();
+				LOCK.readLock().unlock();
+			}
+		}
+	}
+
+	/** Records that a scenario changed data outside its rolled-back transaction. */
+	public static void markDirty(String scenarioName) {
+		DIRTY.set(true);
+		MUTATING_SCENARIOS.add(scenarioName);
+	}
+
+	// =========================
+	// Snapshot restore
+	// =========================
+	public static void restore(String reason) throws SQLException {
+		LOCK.writeLock().lock();
+		try {
+			if (!DIRTY.get()) return; // another thread restored while we waited
+
+			long start = System.currentTimeMillis();
+			ConnectionPool pool = DbManager.pool();
+			Connection c = pool.lease();
+			try (Statement st = c.createStatement()) {
+				c.setAutoCommit(false);
+				st.execute("SET REFERENTIAL_INTEGRITY FALSE");
+				for (SnapshotTable t : tables) {
+					st.execute("TRUNCATE TABLE PUBLIC." + t.name());
+					st.execute("INSERT INTO PUBLIC." + t.name() + " OVERRIDING SYSTEM VALUE SELECT * FROM "
+							+ SNAPSHOT_SCHEMA + "." + t.name());
+					if (t.restartIdentitySql() != null) {
+						st.execute(t.restartIdentitySql());
+					}
+				}
+				c.commit();
+			} catch (SQLException e) {
+				// TRUNCATE commits implicitly in H2, so no rollback can undo a partial restore: the data stays dirty
+				// and the next feature change or @dirty_db scenario restores again
+				DIRTY.set(true);
+				System.out.println("[DbFixtures] Restore of '" + fixtureName + "' (" + reason
+						+ ") failed, fixture data left dirty (possibly partially restored): " + e.getMessage());
+				throw e;
+			} finally {
+				resetSession(c);
+				pool.release(c);
+			}
+			DIRTY.set(false);
+
+			long took = System.currentTimeMillis() - start;
+			RESTORES.incrementAndGet();
+			RESTORE_MS.addAndGet(took);
+			System.out.println("[DbFixtures] Restored '" + fixtureName + "' (" + reason + ") in " + took + "ms");
+		} finally {
+			LOCK.writeLock().unlock();
+		}
+	}
+
+	public static void reportMetrics() {
+		if (fixtureName == null) return;
+		ExtentReportMetada.put("DB Fixture", fixtureName + " (loaded in " + loadMs + "ms)");
+		ExtentReportMetada.put("DB Fixture Restores", RESTORES.get() + " restore(s), total=" + RESTORE_MS.get() + "ms");
+		if (!MUTATING_SCENARIOS.isEmpty()) {
+			ExtentReportMetada.put("DB Mutating Scenarios", String.join(", ", MUTATING_SCENARIOS));
+		}
+	}
+
+	// --------- internal ---------
+
+	// Referential integrity is a session setting: a pooled connection must never go back with it switched off.
+	// A connection that cannot be reset is closed, so the pool discards it on release.
+	private static void resetSession(Connection c) {
+		try (Statement st = c.createStatement()) {
+			st.execute("SET REFERENTIAL_INTEGRITY TRUE");
+			c.setAutoCommit(true);
+		} catch (SQLException e) {
+			System.out.println("[DbFixtures] Could not reset restore connection, discarding it: " + e.getMessage());
+			try {
+				c.close();
+			} catch (SQLException ignored) {
+				// already broken
+			}
+		}
+	}
+
+	private static List<SnapshotTable> snapshotTables(Connection c) throws SQLException {
+		List<SnapshotTable> result = new ArrayList<>();
+		try (Statement st = c.createStatement();
+			 ResultSet rs = st.executeQuery("SELECT t.TABLE_NAME, col.COLUMN_NAME FROM INFORMATION_SCHEMA.TABLES t "
+					 + "LEFT JOIN INFORMATION_SCHEMA.COLUMNS col ON col.TABLE_SCHEMA = t.TABLE_SCHEMA "
+					 + "AND col.TABLE_NAME = t.TABLE_NAME AND col.IS_IDENTITY = 'YES' "
+					 + "WHERE t.TABLE_SCHEMA = 'PUBLIC' AND t.TABLE_TYPE = 'BASE TABLE' ORDER BY t.TABLE_NAME")) {
+			while (rs.next()) {
+				String table = '"' + rs.getString(1) + '"';
+				String identity = rs.getString(2);
+				String restart = null;
+				if (identity != null) {
+					// Fixture data is constant → the value to restart from is computed once here
+					try (Statement max = c.createStatement();
+						 ResultSet m = max.executeQuery("SELECT COALESCE(MAX(\"" + identity + "\"), 0) + 1 FROM PUBLIC." + table)) {
+						m.next();
+						restart = "ALTER TABLE PUBLIC." + table + " ALTER COLUMN \"" + identity + "\" RESTART WITH " + m.getLong(1);
+					}
+				}
+				result.add(new SnapshotTable(table, restart));
+			}
+		}
+		return List.copyOf(result);
+	}
+}
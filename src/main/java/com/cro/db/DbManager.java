@@ -0,0 +1,194 @@
+package com.cro.db;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.cro.extentreporting.ExtentReportMetada;
+import com.cro.listeners.LogBridge;
+import com.cro.settings.PropertiesLoader;
+
+/**
+ * Database access for scenarios.
+ *
+ * One bounded pool per run (created in @BeforeAll), one leased connection per scenario thread.
+ * Each scenario works inside a transaction opened in @Before and rolled back in @After,
+ * so nothing a scenario writes leaks into the next one and no per-scenario cleanup SQL is needed.
+ *
+ * Config keys: enable.db, db.url, db.username, db.password, db.pool.size, db.pool.wait.ms
+ */
+public final class DbManager {
+
+	private static volatile ConnectionPool pool;
+
+	// Per-scenario lease (transaction is open while leased)
+	private static final ThreadLocal<Connection> TL_CONNECTION = new ThreadLocal<>();
+
+	// Query metrics
+	private static final LongAdder QUERY_COUNT = new LongAdder();
+	private static final LongAdder QUERY_NANOS = new LongAdder();
+
+	private DbManager() {
+		// prevent instantiation
+	}
+
+	public static boolean isEnabled() throws IOException {
+		return PropertiesLoader.getBooleanPropertyCached("enable.db", false);
+	}
+
+	/** Creates the pool once per run; no-op when enable.db=false or already initialized. */
+	public static synchronized void init() throws IOException {
+		if (pool != null || !isEnabled()) {
+			return;
+		}
+		String url = PropertiesLoader.getRequiredPropertyCached("db.url");
+		String user = PropertiesLoader.getOptionalPropertyCached("db.username", "");
+		String password = PropertiesLoader.getOptionalPropertyCached("db.password", "");
+		int threads = Integer.parseInt(System.getProperty("dp.threads", "1"));
+		int size = PropertiesLoader.getIntPropertyCached("db.pool.size", Math.max(2, threads));
+		long waitMs = PropertiesLoader.getIntPropertyCached("db.pool.wait.ms", 30_000);
+
+		pool = new ConnectionPool(url, user, password, size, waitMs);
+		System.out.println("[DbManager] Pool created url=" + url + " size=" + size + " waitMs=" + waitMs);
+	}
+
+	public static boolean isInitialized() {
+		return pool != null;
+	}
+
+	// Used by DbFixtures for run-level work outside the scenario transactions
+	static ConnectionPool pool() {
+		if (pool == null) {
+			throw new IllegalStateException("DB pool not initialized. Is enable.db=true and did @BeforeAll run?");
+		}
+		return pool;
+	}
+
+	// =========================
+	// Per-scenario transaction
+	// =========================
+	public static void beginScenario() throws SQLException {
+		if (pool == null) return;
+		if (TL_CONNECTION.get() != null) {
+			rollbackScenario(); // defensive: previous scenario on this thread did not clean up
+		}
+		Connection c = pool.lease();
+		try {
+			c.setAutoCommit(false);
+		} catch (SQLException | RuntimeException e) {
+			pool.release(c); // not tracked in TL_CONNECTION yet, so no rollbackScenario() would return it
+			throw e;
+		}
+		TL_CONNECTION.set(c);
+	}
+
+	public static void rollbackScenario() {
+		Connection c = TL_CONNECTION.get();
+		if (c == null) return;
+		try {
+			// Note: DDL auto-commits on most databases (incl. H2) and is NOT undone here
+			c.rollback();
+			c.setAutoCommit(true);
+		} catch (SQLException e) {
+			System.err.println("[DbManager] Rollback failed: " + e.getMessage());
+		} finally {
+			TL_CONNECTION.remove();
+			pool.release(c);
+		}
+	}
+
+	/** Connection leased to the current scenario (inside its transaction). */
+	public static Connection connection() {
+		Connection c = TL_CONNECTION.get();
+		if (c == null) {
+			throw new IllegalStateException("No DB connection for this scenario. Is enable.db=true and did @Before run?");
+		}
+		return c;
+	}
+
+	// =========================
+	// Verification helpers
+	// =========================
+	public static List<Map<String, Object>> query(String sql, Object... params) throws SQLException {
+		long start = System.nanoTime();
+		try (PreparedStatement ps = prepare(sql, params);
+			 ResultSet rs = ps.executeQuery()) {
+			ResultSetMetaData md = rs.getMetaData();
+			List<Map<String, Object>> rows = new ArrayList<>();
+			while (rs.next()) {
+				Map<String, Object> row = new LinkedHashMap<>();
+				for (int i = 1; i <= md.getColumnCount(); i++) {
+					row.put(md.getColumnLabel(i).toLowerCase(), rs.getObject(i));
+				}
+				rows.add(row);
+			}
+			return rows;
+		} finally {
+			recordQuery(sql, start);
+		}
+	}
+
+	/** First column of the first row, or null when the query returns nothing. */
+	public static Object queryForValue(String sql, Object... params) throws SQLException {
+		long start = System.nanoTime();
+		try (PreparedStatement ps = prepare(sql, params);
+			 ResultSet rs = ps.executeQuery()) {
+			return rs.next() ? rs.getObject(1) : null;
+		} finally {
+			recordQuery(sql, start);
+		}
+	}
+
+	/** Executes DML inside the scenario transaction (rolled back in @After). */
+	public static int update(String sql, Object... params) throws SQLException {
+		long start = System.nanoTime();
+		try (PreparedStatement ps = prepare(sql, params)) {
+			return ps.executeUpdate();
+		} finally {
+			recordQuery(sql, start);
+		}
+	}
+
+	private static PreparedStatement prepare(String sql, Object... params) throws SQLException {
+		PreparedStatement ps = connection().prepareStatement(sql);
+		for (int i = 0; i < params.length; i++) {
+			ps.setObject(i + 1, params[i]);
+		}
+		return ps;
+	}
+
+	private static void recordQuery(String sql, long startNanos) {
+		long nanos = System.nanoTime() - startNanos;
+		QUERY_COUNT.increment();
+		QUERY_NANOS.add(nanos);
+		LogBridge.info("[DB] " + TimeUnit.NANOSECONDS.toMillis(nanos) + "ms " + sql);
+	}
+
+	// =========================
+	// Run-level reporting + shutdown
+	// =========================
+	public static void reportMetrics() {
+		if (pool == null) return;
+		ExtentReportMetada.put("DB Pool", "size=" + pool.maxSize() + ", opened=" + pool.openConnections()
+				+ ", leases=" + pool.leaseCount());
+		ExtentReportMetada.put("DB Pool Wait", "total=" + pool.totalWaitMs() + "ms, max=" + pool.maxWaitMs() + "ms");
+		ExtentReportMetada.put("DB Query Time", "queries=" + QUERY_COUNT.sum() + ", total="
+				+ TimeUnit.NANOSECONDS.toMillis(QUERY_NANOS.sum()) + "ms");
+	}
+
+	public static synchronized void shutdown() {
+		if (pool != null) {
+			pool.close();
+			pool = null;
+		}
+	}
+}
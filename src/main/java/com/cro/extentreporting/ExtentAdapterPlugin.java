@@ -0,0 +1,46 @@
+package com.cro.extentreporting;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter;
+import com.cro.settings.PropertiesLoader;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+
+/**
+ * Cucumber plugin: the Extent Cucumber adapter, unless the streaming report is on.
+ *
+ * Extent keeps every test, step and log of the run in heap until the final flush; with report.streaming=true the
+ * StreamingReportWriter is the report, so the adapter is not registered at all and no Extent test is built.
+ * Extent calls elsewhere (LogBridge, BrowserMatrix.tagReport) find no current scenario and are skipped.
+ *
+ * Config keys: report.streaming (default false)
+ */
+public class ExtentAdapterPlugin implements ConcurrentEventListener {
+
+	private static volatile boolean active;
+
+	public ExtentAdapterPlugin() {
+	}
+
+	/** True when the Extent adapter receives this run's events. */
+	public static boolean isActive() {
+		return active;
+	}
+
+	@Override
+	public void setEventPublisher(EventPublisher publisher) {
+		try {
+			if (PropertiesLoader.getBooleanPropertyCached("report.streaming", false)) {
+				System.out.println("[Extent] adapter off: report.streaming=true");
+				return;
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to read report.streaming", e);
+		}
+		new ExtentCucumberAdapter("").setEventPublisher(publisher);
+		active = true;
+	}
+}
@@ -20,6 +20,8 @@ package com.cro.extentreporting;
 
 import java.util.Map;
 
+import java.util.TreeMap;
+
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.aventstack.extentreports.service.ExtentService;
@@ -44,10 +46,27 @@ public class ExtentReportMetada {
 
 	}
 
+	/** Sorted copy of everything collected so far (for reporters other than Extent) */
+
+	public static Map<String, String> snapshot() {
+
+		Map<String, String> sorted = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+		sorted.putAll(SYSTEM_INFO);
+
+		return sorted;
+
+	}
+
 	/** Publish to Extent exactly once and in alphabetical order for readability */
 
 	public static void publishOnce() {
 
+		// report.streaming=true: no Extent adapter, so creating ExtentService here would only start empty reporters
+
+		if (!ExtentAdapterPlugin.isActive())
+			return;
+
 		if (!published) {
 
 			synchronized (ExtentReportMetada.class) {
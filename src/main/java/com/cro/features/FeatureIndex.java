@@ -0,0 +1,220 @@
+package com.cro.features;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import com.cro.extentreporting.ExtentReportMetada;
+import com.cro.settings.PathManager;
+import com.cro.settings.PropertiesLoader;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import io.cucumber.tagexpressions.Expression;
+import io.cucumber.tagexpressions.TagExpressionParser;
+
+/**
+ * Persistent index of parsed feature files, so a run only re-parses the Gherkin that changed.
+ *
+ * File: PathManager.cacheDir()/feature-index.json (absolute feature path → mtime, size, sha256, pickles).
+ * A file is trusted when mtime and size match; otherwise it is hashed, and only re-parsed when the hash differs
+ * (a checkout that merely touched files costs a hash, not a parse). Entries of deleted features are dropped.
+ *
+ * Used by the runner to narrow cucumber.features to the uri:line of the pickles matching cucumber.filter.tags,
+ * so Cucumber never reads the unselected features, and by pre-login for role discovery. Dry-run planning:
+ *   mvn exec:java -Dexec.mainClass=com.cro.features.FeatureIndex -Dexec.classpathScope=test
+ *       -Dexec.args="src/test/resources/features '@smoke and not @wip'"
+ *
+ * With feature.index=false nothing is read or written (every feature is parsed) and the runner does not narrow.
+ *
+ * Config keys: feature.index (default true)
+ */
+public final class FeatureIndex {
+
+	private static final int VERSION = 1;
+	private static final String INDEX_FILE = "feature-index.json";
+	private static final Gson GSON = new Gson();
+
+	/** Index entry of one feature file. */
+	private record Entry(long mtime, long size, String sha256, List<PickleInfo> pickles) { }
+
+	/** On-disk form. */
+	private record Stored(int version, Map<String, Entry> files) { }
+
+	private static final Map<List<String>, FeatureIndex> LOADED = new ConcurrentHashMap<>();
+
+	private final Map<String, Path> featureFiles = new LinkedHashMap<>(); // pickle uri → path as given by the runner
+	private final List<PickleInfo> pickles = new ArrayList<>();
+	private int reused;
+	private int rehashed;
+	private int parsed;
+
+	private FeatureIndex() {
+	}
+
+	public static boolean isEnabled() throws IOException {
+		return PropertiesLoader.getBooleanPropertyCached("feature.index", true);
+	}
+
+	/**
+	 * Scans the feature paths against the persisted index (once per JVM and path list) and saves it when it changed.
+	 *
+	 * @param featurePaths directories or .feature files; :line filters are ignored, classpath: paths are skipped
+	 */
+	public static FeatureIndex load(List<String> featurePaths) {
+		return LOADED.computeIfAbsent(List.copyOf(featurePaths), paths -> {
+			try {
+				FeatureIndex index = new FeatureIndex();
+				index.scan(paths);
+				return index;
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to index features " + paths, e);
+			}
+		});
+	}
+
+	/** All pickles of the scanned features, in file order. */
+	public List<PickleInfo> pickles() {
+		return Collections.unmodifiableList(pickles);
+	}
+
+	/** Pickles matching a Cucumber tag expression; blank = all. */
+	public List<PickleInfo> select(String tagExpression) {
+		if (tagExpression == null || tagExpression.isBlank()) return pickles();
+		Expression filter = TagExpressionParser.parse(tagExpression);
+		return pickles.stream().filter(p -> filter.evaluate(p.tags())).toList();
+	}
+
+	/** Cucumber feature paths with line filters ("path:3:17") selecting exactly the given pickles. */
+	public List<String> toFeaturePaths(List<PickleInfo> selection) {
+		Map<String, StringBuilder> byFile = new LinkedHashMap<>();
+		for (PickleInfo p : selection) {
+			byFile.computeIfAbsent(p.uri(), uri -> new StringBuilder(featureFiles.get(uri).toString())).append(':').append(p.line());
+		}
+		return byFile.values().stream().map(StringBuilder::toString).toList();
+	}
+
+	/** "n feature(s): reused / re-hashed / parsed" for logs and report metadata. */
+	public String stats() {
+		return (reused + rehashed + parsed) + " feature(s), " + pickles.size() + " pickle(s): " + reused + " reused, "
+				+ rehashed + " re-hashed, " + parsed + " parsed";
+	}
+
+	/** Dry-run plan: selected pickles per feature with tags, no browser, no Cucumber runtime. */
+	public static void main(String[] args) {
+		List<String> paths = List.of((args.length > 0 ? args[0] : "src/test/resources/features").split(","));
+		String tags = (args.length > 1) ? args[1] : System.getProperty("cucumber.filter.tags", "");
+		long start = System.currentTimeMillis();
+		FeatureIndex index = load(paths);
+		List<PickleInfo> selected = index.select(tags);
+		Map<String, List<PickleInfo>> byFeature = new TreeMap<>();
+		selected.forEach(p -> byFeature.computeIfAbsent(p.uri(), k -> new ArrayList<>()).add(p));
+		byFeature.forEach((uri, list) -> {
+			System.out.println(index.featureFiles.get(uri));
+			list.forEach(p -> System.out.println("  :" + p.line() + "  " + p.name() + "  " + p.tags()));
+		});
+		System.out.println("[FeatureIndex] " + selected.size() + " of " + index.pickles.size() + " pickle(s) selected by '"
+				+ tags + "' | " + index.stats() + " | " + (System.currentTimeMillis() - start) + "ms");
+	}
+
+	// --------- internal ---------
+
+	private void scan(List<String> featurePaths) throws IOException {
+		Path file = PathManager.cacheDir().resolve(INDEX_FILE);
+		boolean enabled = isEnabled();
+		Map<String, Entry> stored = enabled ? read(file) : Map.of();
+		Map<String, Entry> updated = new TreeMap<>(stored);
+		boolean dirty = updated.keySet().removeIf(p -> !Files.exists(Paths.get(p)));
+
+		for (Path feature : featureFiles(featurePaths)) {
+			String key = feature.toAbsolutePath().normalize().toString();
+			long mtime = Files.getLastModifiedTime(feature).toMillis();
+			long size = Files.size(feature);
+			Entry entry = stored.get(key);
+			if (entry == null || entry.mtime() != mtime || entry.size() != size) {
+				byte[] source = Files.readAllBytes(feature);
+				String hash = sha256(source);
+				if (entry != null && entry.sha256().equals(hash)) {
+					rehashed++;
+				} else {
+					parsed++;
+					entry = new Entry(0, 0, hash, GherkinPickles.parse(feature.toUri().toString(), source));
+				}
+				entry = new Entry(mtime, size, hash, entry.pickles());
+				updated.put(key, entry);
+				dirty = true;
+			} else {
+				reused++;
+			}
+			for (PickleInfo p : entry.pickles()) {
+				featureFiles.putIfAbsent(p.uri(), feature);
+			}
+			pickles.addAll(entry.pickles());
+		}
+		if (enabled && dirty) {
+			write(file, updated);
+		}
+		System.out.println("[FeatureIndex] " + stats());
+		ExtentReportMetada.put("Feature Index", stats());
+	}
+
+	private static List<Path> featureFiles(List<String> featurePaths) throws IOException {
+		List<Path> result = new ArrayList<>();
+		for (String spec : featurePaths) {
+			if (spec.startsWith("classpath:")) {
+				System.out.println("[FeatureIndex] classpath feature path not indexed: " + spec);
+				continue;
+			}
+			Path path = Paths.get(spec.replaceFirst("^file:", "").replaceFirst("(:\\d+)+$", "")); // drop :line filters
+			try (Stream<Path> files = Files.isDirectory(path) ? Files.walk(path) : Stream.of(path)) {
+				files.filter(p -> p.toString().endsWith(".feature")).sorted().forEach(result::add);
+			}
+		}
+		return result;
+	}
+
+	private static Map<String, Entry> read(Path file) {
+		if (!Files.exists(file)) return Map.of();
+		try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			Stored stored = GSON.fromJson(in, Stored.class);
+			return (stored != null && stored.version() == VERSION && stored.files() != null) ? stored.files() : Map.of();
+		} catch (IOException | JsonParseException e) {
+			System.out.println("[FeatureIndex] unreadable index, rebuilding: " + e.getMessage());
+			return Map.of();
+		}
+	}
+
+	private static void write(Path file, Map<String, Entry> files) throws IOException {
+		Files.createDirectories(file.getParent());
+		Path tmp = Files.createTempFile(file.getParent(), INDEX_FILE, ".tmp");
+		try (Writer out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+			GSON.toJson(new Stored(VERSION, files), out);
+		}
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private static String sha256(byte[] data) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package com.cro.features;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import io.cucumber.gherkin.GherkinParser;
+import io.cucumber.messages.types.Examples;
+import io.cucumber.messages.types.Feature;
+import io.cucumber.messages.types.FeatureChild;
+import io.cucumber.messages.types.GherkinDocument;
+import io.cucumber.messages.types.Pickle;
+import io.cucumber.messages.types.PickleStep;
+import io.cucumber.messages.types.PickleTableCell;
+import io.cucumber.messages.types.PickleTableRow;
+import io.cucumber.messages.types.PickleTag;
+import io.cucumber.messages.types.RuleChild;
+import io.cucumber.messages.types.Scenario;
+import io.cucumber.messages.types.TableRow;
+
+/**
+ * Parses feature files into {@link PickleInfo} with the same uri/line identity Cucumber uses at runtime,
+ * so framework components (result cache, indexes, pre-login) can reason about scenarios
+ * before/outside the Cucumber runtime.
+ */
+public final class GherkinPickles {
+
+	private static final GherkinParser PARSER = GherkinParser.builder()
+			.includeSource(false)
+			.includeGherkinDocument(true)
+			.includePickles(true)
+			.build();
+
+	private GherkinPickles() {
+		// prevent instantiation
+	}
+
+	/** Parses the feature behind a Cucumber feature URI (file: or classpath:). */
+	public static List<PickleInfo> parse(URI featureUri) {
+		return parse(featureUri.toString(), readFeature(featureUri));
+	}
+
+	public static List<PickleInfo> parse(String uri, byte[] source) {
+		Map<String, Integer> lines = new HashMap<>();
+		List<Pickle> pickles = new ArrayList<>();
+
+		PARSER.parse(uri, source).forEach(envelope -> {
+			envelope.getGherkinDocument().ifPresent(doc -> collectLines(doc, lines));
+			envelope.getPickle().ifPresent(pickles::add);
+			envelope.getParseError().ifPresent(err -> {
+				throw new IllegalStateException("Gherkin parse error in " + uri + ": " + err.getMessage());
+			});
+		});
+
+		List<PickleInfo> result = new ArrayList<>(pickles.size());
+		for (Pickle p : pickles) {
+			// [scenarioId] or [scenarioId, exampleRowId] → the last node carries the pickle line
+			List<String> ast = p.getAstNodeIds();
+			int line = lines.getOrDefault(ast.get(ast.size() - 1), 0);
+
+			List<String> tags = p.getTags().stream().map(PickleTag::getName).toList();
+			List<String> steps = p.getSteps().stream().map(GherkinPickles::render).toList();
+			result.add(new PickleInfo(uri, line, p.getName(), tags, steps));
+		}
+		return result;
+	}
+
+	/** Reads the raw bytes of a feature referenced by a Cucumber URI. */
+	public static byte[] readFeature(URI featureUri) {
+		try {
+			if ("classpath".equals(featureUri.getScheme())) {
+				String resource = featureUri.getSchemeSpecificPart().replaceFirst("^/", "");
+				ClassLoader cl = Thread.currentThread().getContextClassLoader();
+				try (InputStream in = (cl != null ? cl : GherkinPickles.class.getClassLoader()).getResourceAsStream(resource)) {
+					if (in == null) {
+						throw new IllegalStateException("Feature not found on classpath: " + resource);
+					}
+					return in.readAllBytes();
+				}
+			}
+			return Files.readAllBytes(toPath(featureUri));
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to read feature " + featureUri, e);
+		}
+	}
+
+	/** Cucumber uses relative, opaque file URIs (file:src/test/...) → resolve against the working dir. */
+	public static Path toPath(URI featureUri) {
+		if (featureUri.isOpaque()) {
+			return Paths.get(featureUri.getSchemeSpecificPart());
+		}
+		return Paths.get(featureUri);
+	}
+
+	// --------- internal ---------
+
+	private static String render(PickleStep step) {
+		StringBuilder sb = new StringBuilder(step.getText());
+		step.getArgument().ifPresent(arg -> {
+			arg.getDocString().ifPresent(doc -> sb.append('\n').append(doc.getContent()));
+			arg.getDataTable().ifPresent(table -> {
+				for (PickleTableRow row : table.getRows()) {
+					sb.append("\n|");
+					for (PickleTableCell cell : row.getCells()) {
+						sb.append(' ').append(cell.getValue()).append(" |");
+					}
+				}
+			});
+		});
+		return sb.toString();
+	}
+
+	private static void collectLines(GherkinDocument doc, Map<String, Integer> lines) {
+		Feature feature = doc.getFeature().orElse(null);
+		if (feature == null) return;
+
+		Consumer<Scenario> scenario = s -> {
+			lines.put(s.getId(), s.getLocation().getLine().intValue());
+			for (Examples ex : s.getExamples()) {
+				for (TableRow row : ex.getTableBody()) {
+					lines.put(row.getId(), row.getLocation().getLine().intValue());
+				}
+			}
+		};
+		for (FeatureChild child : feature.getChildren()) {
+			child.getScenario().ifPresent(scenario);
+			child.getRule().ifPresent(rule -> {
+				for (RuleChild rc : rule.getChildren()) {
+					rc.getScenario().ifPresent(scenario);
+				}
+			});
+		}
+	}
+}
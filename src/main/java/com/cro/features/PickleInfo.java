@@ -0,0 +1,29 @@
+package com.cro.features;
+
+import java.util.List;
+
+/**
+ * Lightweight, framework-neutral view of a Gherkin pickle (one executable scenario / example row).
+ *
+ * @param uri   Feature URI exactly as Cucumber reports it (Scenario.getUri().toString())
+ * @param line  Scenario line, or the example row line for Scenario Outlines (same as Scenario.getLine())
+ * @param name  Pickle name (outline placeholders substituted)
+ * @param tags  Effective tags, including inherited feature/rule/examples tags
+ * @param steps Step texts incl. background steps; DataTables/DocStrings appended on extra lines
+ */
+public record PickleInfo(String uri, int line, String name, List<String> tags, List<String> steps) {
+
+	/** Stable id used by caches and indexes: "uri:line". */
+	public String id() {
+		return id(uri, line);
+	}
+
+	public static String id(String uri, int line) {
+		return uri + ":" + line;
+	}
+
+	/** Id of one browser copy of the pickle in a matrix run ("browser|uri:line"); browser null = plain id. */
+	public static String id(String uri, int line, String browser) {
+		return (browser == null) ? id(uri, line) : browser + "|" + id(uri, line);
+	}
+}
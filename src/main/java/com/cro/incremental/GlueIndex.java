@@ -0,0 +1,183 @@
+package com.cro.incremental;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import io.cucumber.cucumberexpressions.Expression;
+import io.cucumber.cucumberexpressions.ExpressionFactory;
+import io.cucumber.cucumberexpressions.ParameterTypeRegistry;
+import io.cucumber.java.StepDefinitionAnnotation;
+
+/**
+ * Maps step texts to the glue classes that define them, and fingerprints those classes by bytecode.
+ *
+ * Classes without step definitions (hooks, helpers) wrap every scenario, so they are part of
+ * every fingerprint. Step classes only count for the scenarios whose steps they match.
+ */
+final class GlueIndex {
+
+	private record StepBinding(String className, Expression expression) { }
+
+	private final List<StepBinding> bindings = new ArrayList<>();
+	private final Set<String> alwaysBound = new TreeSet<>();
+	private final Map<String, String> classHashes = new TreeMap<>();
+
+	GlueIndex(Collection<String> gluePackages) {
+		ExpressionFactory factory = new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH));
+		for (String pkg : gluePackages) {
+			for (String className : topLevelClasses(pkg)) {
+				classHashes.put(className, hashClassFiles(className));
+				boolean hasSteps = false;
+				for (Method m : load(className).getDeclaredMethods()) {
+					for (Annotation a : stepAnnotations(m)) {
+						hasSteps = true;
+						String source = expressionOf(a);
+						try {
+							bindings.add(new StepBinding(className, factory.createExpression(source)));
+						} catch (RuntimeException e) {
+							// e.g. custom parameter type unknown here → be conservative, bind to every scenario
+							alwaysBound.add(className);
+						}
+					}
+				}
+				if (!hasSteps) {
+					alwaysBound.add(className);
+				}
+			}
+		}
+	}
+
+	/** "className=hash" for every glue class involved in the given steps (sorted, stable). */
+	List<String> fingerprintFor(List<String> steps) {
+		Set<String> classes = new TreeSet<>(alwaysBound);
+		for (String step : steps) {
+			String text = step.split("\n", 2)[0]; // DataTable/DocString lines are not part of the match
+			for (StepBinding b : bindings) {
+				if (b.expression().match(text) != null) {
+					classes.add(b.className());
+				}
+			}
+		}
+		List<String> parts = new ArrayList<>(classes.size());
+		for (String c : classes) {
+			parts.add(c + "=" + classHashes.get(c));
+		}
+		return parts;
+	}
+
+	// --------- internal ---------
+
+	/** Step annotations of a method, unwrapping @Repeatable containers (e.g. two @Given on one method). */
+	private static List<Annotation> stepAnnotations(Method m) {
+		List<Annotation> result = new ArrayList<>();
+		for (Annotation a : m.getAnnotations()) {
+			if (a.annotationType().isAnnotationPresent(StepDefinitionAnnotation.class)) {
+				result.add(a);
+				continue;
+			}
+			try {
+				Object value = a.annotationType().getMethod("value").invoke(a);
+				if (value instanceof Annotation[] repeated) {
+					for (Annotation r : repeated) {
+						if (r.annotationType().isAnnotationPresent(StepDefinitionAnnotation.class)) {
+							result.add(r);
+						}
+					}
+				}
+			} catch (ReflectiveOperationException ignored) {
+				// not a container annotation
+			}
+		}
+		return result;
+	}
+
+	private static String expressionOf(Annotation a) {
+		try {
+			return (String) a.annotationType().getMethod("value").invoke(a);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot read step expression from " + a, e);
+		}
+	}
+
+	private static ClassLoader cl() {
+		ClassLoader cl = Thread.currentThread().getContextClassLoader();
+		return (cl != null) ? cl : GlueIndex.class.getClassLoader();
+	}
+
+	private static Class<?> load(String className) {
+		try {
+			return Class.forName(className, false, cl());
+		} catch (ClassNotFoundException e) {
+			throw new IllegalStateException("Glue class not loadable: " + className, e);
+		}
+	}
+
+	/** Top-level classes of a package in directory-based classpath entries (target/test-classes). */
+	private static Set<String> topLevelClasses(String pkg) {
+		Set<String> result = new TreeSet<>();
+		try {
+			Enumeration<URL> roots = cl().getResources(pkg.replace('.', '/'));
+			while (roots.hasMoreElements()) {
+				URL url = roots.nextElement();
+				if (!"file".equals(url.getProtocol())) continue;
+				try (Stream<Path> files = Files.list(Paths.get(url.toURI()))) {
+					files.map(p -> p.getFileName().toString())
+						 .filter(n -> n.endsWith(".class") && !n.contains("$"))
+						 .forEach(n -> result.add(pkg + "." + n.substring(0, n.length() - ".class".length())));
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to scan glue package " + pkg, e);
+		} catch (URISyntaxException e) {
+			throw new IllegalStateException("Failed to scan glue package " + pkg, e);
+		}
+		return result;
+	}
+
+	/** SHA-256 over the class file and its nested/anonymous classes. */
+	private static String hashClassFiles(String className) {
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-256");
+			String resource = className.replace('.', '/') + ".class";
+			URL url = cl().getResource(resource);
+			if (url == null) {
+				throw new IllegalStateException("Class file not found: " + resource);
+			}
+			try (InputStream in = url.openStream()) {
+				md.update(in.readAllBytes());
+			}
+			if ("file".equals(url.getProtocol())) {
+				Path dir = Paths.get(url.toURI()).getParent();
+				String prefix = className.substring(className.lastIndexOf('.') + 1) + "$";
+				try (Stream<Path> nested = Files.list(dir)) {
+					for (Path p : nested.filter(p -> p.getFileName().toString().startsWith(prefix)).sorted().toList()) {
+						md.update(Files.readAllBytes(p));
+					}
+				}
+			}
+			return HexFormat.of().formatHex(md.digest());
+		} catch (Exception e) {
+			throw new IllegalStateException("Failed to hash glue class " + className, e);
+		}
+	}
+}
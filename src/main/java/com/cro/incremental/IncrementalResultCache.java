@@ -0,0 +1,230 @@
+package com.cro.incremental;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import com.cro.extentreporting.ExtentReportMetada;
+import com.cro.features.GherkinPickles;
+import com.cro.features.PickleInfo;
+import com.cro.settings.PathManager;
+import com.cro.settings.PropertiesLoader;
+
+/**
+ * Persistent "last passed" cache for incremental runs (-Dincremental=true).
+ *
+ * A scenario is skipped when the fingerprint of ALL its inputs equals the fingerprint recorded
+ * when it last passed:
+ *   - pickle content (name, tags, steps incl. background, DataTables/DocStrings)
+ *   - bytecode of the step-definition classes its steps bind to + all hook/helper glue classes
+ *   - bytecode of the framework's main classes (page objects, UIActions, LoginFlow, ...), hashed as a whole
+ *   - effective env config: every config key with its -D override applied, plus the values resolved outside
+ *     the file (browser, -Drole, har.mode, the browsers matrix list)
+ *   - app build identifier (app.version)
+ * Any change produces a new fingerprint → cache miss → the scenario runs again.
+ * A failed run removes the entry. Cached passes stay in the run and are reported as skipped tests.
+ *
+ * File: PathManager.cacheDir()/incremental-results.properties  (scenario id = fingerprint)
+ * In a browser matrix every browser copy has its own entry ("browser|uri:line"), so a pass on one browser never
+ * skips the copy that failed on another.
+ */
+public final class IncrementalResultCache {
+
+	private static final String CACHE_FILE = "incremental-results.properties";
+
+	private static volatile IncrementalResultCache instance;
+
+	private final Properties stored = new Properties();
+	private final Map<String, String> currentFingerprints = new ConcurrentHashMap<>();
+	private final Map<String, List<PickleInfo>> parsedFeatures = new ConcurrentHashMap<>();
+	private final List<String> skippedCached = Collections.synchronizedList(new ArrayList<>());
+	private final Set<String> skippedIds = ConcurrentHashMap.newKeySet();
+	private final GlueIndex glue;
+	private final String configHash;
+	private final String mainClassesHash;
+	private final String appVersion;
+
+	private IncrementalResultCache(Collection<String> gluePackages) throws IOException {
+		Path file = cacheFile();
+		if (Files.exists(file)) {
+			try (Reader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+				stored.load(r);
+			}
+		}
+		this.glue = new GlueIndex(gluePackages);
+		this.configHash = configSnapshotHash();
+		this.mainClassesHash = mainClassesHash();
+		this.appVersion = PropertiesLoader.getOptionalPropertyCached("app.version", "unknown");
+	}
+
+	public static boolean isEnabled() throws IOException {
+		return PropertiesLoader.getBooleanPropertyCached("incremental", false);
+	}
+
+	/** Loads the cache and indexes the glue once per run. */
+	public static synchronized IncrementalResultCache init(Collection<String> gluePackages) throws IOException {
+		if (instance == null) {
+			instance = new IncrementalResultCache(gluePackages);
+			System.out.println("[Incremental] enabled | app.version=" + instance.appVersion
+					+ " | cached passes=" + instance.stored.size());
+		}
+		return instance;
+	}
+
+	/** Null when incremental mode was not initialized for this run. */
+	public static IncrementalResultCache get() {
+		return instance;
+	}
+
+	/** True when the scenario passed last time with identical inputs; the miss fingerprint is kept for recording. */
+	public boolean isCachedPass(URI featureUri, int line, String browser, String name) {
+		String id = PickleInfo.id(featureUri.toString(), line, browser);
+		String fingerprint = currentFingerprints.computeIfAbsent(id, k -> fingerprint(featureUri, line));
+		boolean hit = fingerprint.equals(stored.getProperty(id));
+		if (hit && skippedIds.add(id)) {
+			skippedCached.add(name + " (" + id + ")");
+		}
+		return hit;
+	}
+
+	/** True for a scenario found unchanged by {@link #isCachedPass}; the runner reports it as skipped. */
+	public boolean isSkippedCached(URI featureUri, int line, String browser) {
+		return skippedIds.contains(PickleInfo.id(featureUri.toString(), line, browser));
+	}
+
+	/** Called once the scenario finished; only scenarios selected in this run are recorded. */
+	public void recordResult(URI featureUri, int line, String browser, boolean passed) {
+		String id = PickleInfo.id(featureUri.toString(), line, browser);
+		String fingerprint = currentFingerprints.get(id);
+		if (fingerprint == null) return;
+		synchronized (stored) {
+			if (passed) {
+				stored.setProperty(id, fingerprint);
+			} else {
+				stored.remove(id);
+			}
+		}
+	}
+
+	/** Persists the cache atomically and reports skipped-cached scenarios. */
+	public void save() throws IOException {
+		Path file = cacheFile();
+		Files.createDirectories(file.getParent());
+		Path tmp = file.resolveSibling(CACHE_FILE + ".tmp");
+		synchronized (stored) {
+			try (Writer w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+				stored.store(w, "scenario uri:line = fingerprint of last PASSED run (incremental mode)");
+			}
+		}
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+		ExtentReportMetada.put("Incremental Mode", currentFingerprints.size() - skippedCached.size()
+				+ " executed, " + skippedCached.size() + " skipped-cached (app.version=" + appVersion + ")");
+		if (!skippedCached.isEmpty()) {
+			Files.write(PathManager.reportDir().resolve("incremental-skipped-cached.txt"), skippedCached,
+					StandardCharsets.UTF_8);
+		}
+	}
+
+	public List<String> skippedCached() {
+		return List.copyOf(skippedCached);
+	}
+
+	// --------- internal ---------
+
+	private String fingerprint(URI featureUri, int line) {
+		List<PickleInfo> pickles = parsedFeatures.computeIfAbsent(featureUri.toString(),
+				k -> GherkinPickles.parse(featureUri));
+		PickleInfo pickle = pickles.stream().filter(p -> p.line() == line).findFirst()
+				.orElseThrow(() -> new IllegalStateException("Pickle not found at " + featureUri + ":" + line));
+
+		MessageDigest md = sha256();
+		update(md, "pickle", pickle.uri(), pickle.name(), String.join(" ", pickle.tags()));
+		for (String step : pickle.steps()) {
+			update(md, "step", step);
+		}
+		for (String glueClass : glue.fingerprintFor(pickle.steps())) {
+			update(md, "glue", glueClass);
+		}
+		update(md, "main", mainClassesHash, "config", configHash, "app", appVersion);
+		return HexFormat.of().formatHex(md.digest());
+	}
+
+	// Effective values, not just the file: a -Dheadless=false or -Drole=admin run must not reuse a default-run pass
+	private static String configSnapshotHash() throws IOException {
+		Properties props = PropertiesLoader.loadCached();
+		MessageDigest md = sha256();
+		for (String key : new TreeSet<>(props.stringPropertyNames())) {
+			update(md, key, PropertiesLoader.getOptionalPropertyCached(key, ""));
+		}
+		update(md, "effective.browser", PropertiesLoader.effectiveBrowserCached(),
+				"effective.role", String.valueOf(System.getProperty("role")),
+				"effective.har.mode", PropertiesLoader.networkModeCached().name(),
+				"effective.browsers", String.join(",", PropertiesLoader.matrixBrowsersCached()),
+				"effective.headless", PropertiesLoader.getOptionalPropertyCached("headless", ""));
+		return HexFormat.of().formatHex(md.digest());
+	}
+
+	/** SHA-256 over every class file of the main code (target/classes, or the jar it is packaged in). */
+	private static String mainClassesHash() throws IOException {
+		Path root;
+		try {
+			root = Paths.get(IncrementalResultCache.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+		} catch (URISyntaxException | NullPointerException e) {
+			throw new IllegalStateException("Cannot locate the main classes", e);
+		}
+		MessageDigest md = sha256();
+		if (Files.isDirectory(root)) {
+			List<Path> classes;
+			try (Stream<Path> files = Files.walk(root)) {
+				classes = files.filter(p -> p.toString().endsWith(".class")).sorted().toList();
+			}
+			for (Path c : classes) {
+				update(md, root.relativize(c).toString().replace('\\', '/'));
+				md.update(Files.readAllBytes(c));
+			}
+		} else {
+			md.update(Files.readAllBytes(root));
+		}
+		return HexFormat.of().formatHex(md.digest());
+	}
+
+	private static void update(MessageDigest md, String... parts) {
+		for (String p : parts) {
+			md.update(p.getBytes(StandardCharsets.UTF_8));
+			md.update((byte) 0); // separator so "ab"+"c" != "a"+"bc"
+		}
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static Path cacheFile() {
+		return PathManager.cacheDir().resolve(CACHE_FILE);
+	}
+}
@@ -0,0 +1,21 @@
+package com.cro.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.cro.BrowserLaunch")
+@Label("Browser Launch")
+@Description("Playwright driver start + browser launch (or connect in browser-server mode) for one worker thread")
+@Category({ "PlaywrightUIAuto", "Browser" })
+@StackTrace(false)
+public class BrowserLaunchEvent extends FrameworkEvent {
+
+	@Label("Browser")
+	public String browser;
+
+	@Label("Mode")
+	public String mode;
+}
@@ -0,0 +1,21 @@
+package com.cro.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.cro.ContextCreate")
+@Label("Context Creation")
+@Description("BrowserContext + Page creation, with or without a stored session")
+@Category({ "PlaywrightUIAuto", "Browser" })
+@StackTrace(false)
+public class ContextCreateEvent extends FrameworkEvent {
+
+	@Label("Browser")
+	public String browser;
+
+	@Label("Storage State")
+	public String storageState;
+}
@@ -0,0 +1,65 @@
+package com.cro.jfr;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import com.cro.extentreporting.ExtentReportMetada;
+import com.cro.settings.PathManager;
+import com.cro.settings.PropertiesLoader;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Run-scoped JFR recording (-Djfr.record=true): JDK "default" settings (low overhead) + all framework events,
+ * written to PathManager.reportDir()/run-&lt;timestamp&gt;.jfr when the run finishes (also on abnormal JVM exit).
+ *
+ * Config keys: jfr.record (default false), jfr.settings (default|profile, default "default")
+ */
+public final class FlightRecording {
+
+	private static volatile Recording recording;
+
+	private FlightRecording() {
+		// prevent instantiation
+	}
+
+	public static synchronized void start() throws IOException {
+		if (recording != null || !PropertiesLoader.getBooleanPropertyCached("jfr.record", false)) return;
+		try {
+			Recording r = new Recording(Configuration.getConfiguration(
+					PropertiesLoader.getOptionalPropertyCached("jfr.settings", "default")));
+			r.setName("PlaywrightUIAuto");
+			for (Class<? extends FrameworkEvent> type : List.of(BrowserLaunchEvent.class, ContextCreateEvent.class,
+					SessionAcquireEvent.class, UIActionEvent.class, StepEvent.class, HookEvent.class)) {
+				r.enable(type).withoutStackTrace();
+			}
+			PathManager.createRequiredDirs();
+			Path file = PathManager.reportDir().resolve(
+					"run-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".jfr");
+			r.setDestination(file);
+			r.setDumpOnExit(true);
+			r.start();
+			recording = r;
+			// published now: stop() runs on TestRunFinished, after GlobalHooks has published the report metadata
+			ExtentReportMetada.put("JFR Recording", file.toString());
+			System.out.println("[JFR] Recording started → " + file);
+		} catch (ParseException e) {
+			throw new IllegalStateException("Invalid JFR settings", e);
+		}
+	}
+
+	/** Stops the recording; JFR writes it to the destination. */
+	public static synchronized void stop() {
+		Recording r = recording;
+		if (r == null) return;
+		recording = null;
+		r.stop();
+		System.out.println("[JFR] Recording written → " + r.getDestination());
+		r.close();
+	}
+}
@@ -0,0 +1,28 @@
+package com.cro.jfr;
+
+import com.cro.listeners.ScenarioContext;
+
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base of the framework's JFR events: every event carries the scenario running on the thread.
+ *
+ * Usage keeps the disabled cost to a flag check: begin() → work → end(); fields are only filled when
+ * shouldCommit() is true (a recording is running and the duration passed the threshold).
+ */
+public abstract class FrameworkEvent extends Event {
+
+	@Label("Scenario")
+	public String scenario;
+
+	/** Ends the event and commits it if recorded; fields set by {@code fill} only when it will be committed. */
+	public final void finish(Runnable fill) {
+		end();
+		if (shouldCommit()) {
+			scenario = ScenarioContext.getScenarioName();
+			fill.run();
+			commit();
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package com.cro.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.cro.Hook")
+@Label("Cucumber Hook")
+@Description("Execution of one scenario/step hook (Before, After, BeforeStep, AfterStep)")
+@Category({ "PlaywrightUIAuto", "Cucumber" })
+@StackTrace(false)
+public class HookEvent extends FrameworkEvent {
+
+	@Label("Hook")
+	public String hook;
+
+	@Label("Type")
+	public String hookType;
+
+	@Label("Status")
+	public String status;
+}
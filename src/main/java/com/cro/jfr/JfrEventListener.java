@@ -0,0 +1,63 @@
+package com.cro.jfr;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+/**
+ * Cucumber plugin: starts/stops the run recording and emits one JFR event per step and per hook.
+ *
+ * Concurrent listener → events arrive on the scenario thread in real time, so begin/commit bracket
+ * the actual execution (one open event per thread).
+ */
+public class JfrEventListener implements ConcurrentEventListener {
+
+	private static final ThreadLocal<FrameworkEvent> TL_OPEN = new ThreadLocal<>();
+
+	@Override
+	public void setEventPublisher(EventPublisher publisher) {
+		publisher.registerHandlerFor(TestRunStarted.class, event -> {
+			try {
+				FlightRecording.start();
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to start JFR recording", e);
+			}
+		});
+
+		publisher.registerHandlerFor(TestStepStarted.class, event -> {
+			FrameworkEvent jfr = (event.getTestStep() instanceof HookTestStep) ? new HookEvent() : new StepEvent();
+			jfr.begin();
+			TL_OPEN.set(jfr);
+		});
+
+		publisher.registerHandlerFor(TestStepFinished.class, event -> {
+			FrameworkEvent jfr = TL_OPEN.get();
+			TL_OPEN.remove();
+			if (jfr == null) return;
+			String status = event.getResult().getStatus().name();
+			if (jfr instanceof HookEvent hook && event.getTestStep() instanceof HookTestStep step) {
+				hook.finish(() -> {
+					hook.hook = step.getCodeLocation();
+					hook.hookType = step.getHookType().name();
+					hook.status = status;
+				});
+			} else if (jfr instanceof StepEvent stepEvent && event.getTestStep() instanceof PickleStepTestStep step) {
+				stepEvent.finish(() -> {
+					stepEvent.step = step.getStep().getKeyword() + step.getStep().getText();
+					stepEvent.location = event.getTestCase().getUri() + ":" + step.getStep().getLine();
+					stepEvent.status = status;
+				});
+			}
+		});
+
+		publisher.registerHandlerFor(TestRunFinished.class, event -> FlightRecording.stop());
+	}
+}
@@ -0,0 +1,22 @@
+package com.cro.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.cro.SessionAcquire")
+@Label("Session Acquisition")
+@Description("SessionManager.getOrCreateSession: reuse of a stored session or login under the per-user lock")
+@Category({ "PlaywrightUIAuto", "Session" })
+@StackTrace(false)
+public class SessionAcquireEvent extends FrameworkEvent {
+
+	@Label("Role")
+	public String role;
+
+	@Label("Reused")
+	@Description("True when an existing session file was returned without logging in")
+	public boolean reused;
+}
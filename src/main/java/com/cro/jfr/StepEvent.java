@@ -0,0 +1,24 @@
+package com.cro.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.cro.Step")
+@Label("Cucumber Step")
+@Description("Execution of one Gherkin step")
+@Category({ "PlaywrightUIAuto", "Cucumber" })
+@StackTrace(false)
+public class StepEvent extends FrameworkEvent {
+
+	@Label("Step")
+	public String step;
+
+	@Label("Location")
+	public String location;
+
+	@Label("Status")
+	public String status;
+}
@@ -0,0 +1,27 @@
+package com.cro.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.cro.UIAction")
+@Label("UI Action")
+@Description("One UIActions call (click, fill, navigate, evaluate) against the current page")
+@Category({ "PlaywrightUIAuto", "Playwright" })
+@StackTrace(false)
+public class UIActionEvent extends FrameworkEvent {
+
+	@Label("Action")
+	public String action;
+
+	@Label("Selector")
+	public String selector;
+
+	@Label("URL")
+	public String url;
+
+	@Label("Failed")
+	public boolean failed;
+}
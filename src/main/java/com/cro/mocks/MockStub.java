@@ -0,0 +1,19 @@
+package com.cro.mocks;
+
+import java.util.Map;
+
+/**
+ * One declarative stub from a mock file (src/test/resources/mocks/&lt;name&gt;.json|.yaml).
+ *
+ * @param name      Stub name used by the call-count steps; defaults to "&lt;mock&gt;#&lt;index&gt;"
+ * @param method    HTTP method to match, null = any
+ * @param url       Playwright URL glob passed to BrowserContext.route (e.g. **&#47;api/countries*)
+ * @param status    Response status
+ * @param headers   Response headers
+ * @param body      Response body template (${method}, ${url}, ${path}, ${query.x}, ${header.x}, ${body}, ${call}, ${uuid}, ${now})
+ * @param latencyMs Delay before the response is fulfilled; cumulative per context, concurrent matching calls are
+ *                  delayed one after another (see {@link NetworkMocks})
+ */
+public record MockStub(String name, String method, String url, int status, Map<String, String> headers, String body,
+		long latencyMs) {
+}
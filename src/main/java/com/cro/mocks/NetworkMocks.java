@@ -0,0 +1,236 @@
+package com.cro.mocks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.yaml.snakeyaml.Yaml;
+
+import com.cro.extentreporting.ExtentReportMetada;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+
+/**
+ * Declarative network mocks selected by scenario tags: @mock_countries → mocks/countries.json (or .yaml / .yml).
+ *
+ * A mock file holds a "stubs" list; every stub becomes one BrowserContext.route on the scenario context:
+ *   { "stubs": [ { "name": "countries", "method": "GET", "url": "**&#47;api/countries*",
+ *                  "status": 200, "headers": { "Content-Type": "application/json" },
+ *                  "body": [ { "name": "Norway" } ] | "text with ${query.q}", "bodyFile": "countries-body.json",
+ *                  "latencyMs": 1500 } ] }
+ * Requests with another method fall back to earlier routes / the network. Stubs are installed after HAR routing,
+ * so a mock wins over a HAR entry for the same URL. Latency is a sleep in the route handler: Playwright dispatches a
+ * context's route handlers one at a time on the scenario thread (and route.fulfill must stay on that thread), so
+ * latency is cumulative per context: three concurrent calls to a 1500 ms stub complete after 1.5 s, 3 s and 4.5 s.
+ * It is meant for asserting slow-backend behaviour, not for load. Calls are counted per scenario and per stub
+ * (asserted through MockSteps) and in total for the run.
+ */
+public final class NetworkMocks {
+
+	private static final String TAG_PREFIX = "@mock_";
+	private static final String MOCK_DIR = "mocks/";
+	private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{([a-zA-Z]+)(?:\\.([^}]+))?}");
+
+	private static final Map<String, List<MockStub>> DEFINITIONS = new ConcurrentHashMap<>();
+	private static final ThreadLocal<Map<String, AtomicInteger>> TL_CALLS = new ThreadLocal<>();
+	private static final AtomicInteger SCENARIOS = new AtomicInteger();
+	private static final AtomicInteger SERVED = new AtomicInteger();
+	private static final Gson GSON = new Gson();
+
+	private NetworkMocks() {
+		// prevent instantiation
+	}
+
+	/** Installs the stubs of every @mock_* tag on the scenario context; no-op without such tags. */
+	public static void install(BrowserContext context, Collection<String> tags) {
+		TL_CALLS.remove();
+		List<String> mocks = tags.stream().filter(t -> t.startsWith(TAG_PREFIX))
+				.map(t -> t.substring(TAG_PREFIX.length())).distinct().toList();
+		if (mocks.isEmpty()) return;
+
+		Map<String, AtomicInteger> calls = new LinkedHashMap<>();
+		for (String mock : mocks) {
+			for (MockStub stub : DEFINITIONS.computeIfAbsent(mock, NetworkMocks::load)) {
+				AtomicInteger counter = new AtomicInteger();
+				calls.put(stub.name(), counter);
+				context.route(stub.url(), route -> serve(stub, route, counter));
+			}
+		}
+		TL_CALLS.set(calls);
+		SCENARIOS.incrementAndGet();
+		System.out.println("[Mocks] " + mocks + " → " + calls.size() + " stub(s) | thread=" + Thread.currentThread().getName());
+	}
+
+	/** Calls served by a stub in the current scenario. */
+	public static int callCount(String stubName) {
+		Map<String, AtomicInteger> calls = TL_CALLS.get();
+		AtomicInteger counter = (calls == null) ? null : calls.get(stubName);
+		if (counter == null) {
+			throw new IllegalStateException("No mock stub '" + stubName + "' installed for this scenario. Installed: "
+					+ (calls == null ? "none (no @mock_* tag)" : calls.keySet()));
+		}
+		return counter.get();
+	}
+
+	public static void assertCalled(String stubName, int expected) {
+		int actual = callCount(stubName);
+		if (actual != expected) {
+			throw new AssertionError("Mock '" + stubName + "' was called " + actual + " time(s), expected " + expected);
+		}
+	}
+
+	/** Per-scenario call summary for the scenario log; null when no mocks were installed. */
+	public static String finish() {
+		Map<String, AtomicInteger> calls = TL_CALLS.get();
+		TL_CALLS.remove();
+		if (calls == null) return null;
+		StringBuilder sb = new StringBuilder("Mock calls:");
+		calls.forEach((name, count) -> sb.append("\n").append(name).append(" = ").append(count.get()));
+		return sb.toString();
+	}
+
+	public static void reportMetrics() {
+		if (SCENARIOS.get() == 0) return;
+		ExtentReportMetada.put("Network Mocks", DEFINITIONS.keySet() + " in " + SCENARIOS.get() + " scenario(s), "
+				+ SERVED.get() + " response(s) served");
+	}
+
+	// --------- internal ---------
+
+	private static void serve(MockStub stub, Route route, AtomicInteger counter) {
+		Request request = route.request();
+		if (stub.method() != null && !stub.method().equalsIgnoreCase(request.method())) {
+			route.fallback();
+			return;
+		}
+		int call = counter.incrementAndGet();
+		SERVED.incrementAndGet();
+		if (stub.latencyMs() > 0) {
+			try {
+				Thread.sleep(stub.latencyMs());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		route.fulfill(new Route.FulfillOptions()
+				.setStatus(stub.status())
+				.setHeaders(stub.headers())
+				.setBody(render(stub.body(), request, call)));
+	}
+
+	private static String render(String template, Request request, int call) {
+		if (template == null || template.indexOf("${") < 0) return template;
+		URI uri = URI.create(request.url());
+		Matcher m = PLACEHOLDER.matcher(template);
+		StringBuilder out = new StringBuilder();
+		while (m.find()) {
+			String arg = m.group(2);
+			String value = switch (m.group(1)) {
+				case "method" -> request.method();
+				case "url" -> request.url();
+				case "path" -> uri.getPath();
+				case "query" -> query(uri.getRawQuery(), arg);
+				case "header" -> request.headerValue(arg);
+				case "body" -> request.postData();
+				case "call" -> String.valueOf(call);
+				case "uuid" -> UUID.randomUUID().toString();
+				case "now" -> Instant.now().toString();
+				default -> m.group(); // unknown placeholder stays visible in the response
+			};
+			m.appendReplacement(out, Matcher.quoteReplacement(value == null ? "" : value));
+		}
+		m.appendTail(out);
+		return out.toString();
+	}
+
+	private static String query(String rawQuery, String name) {
+		if (rawQuery == null || name == null) return null;
+		for (String pair : rawQuery.split("&")) {
+			int eq = pair.indexOf('=');
+			String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+			if (key.equals(name)) {
+				return (eq < 0) ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+			}
+		}
+		return null;
+	}
+
+	private static List<MockStub> load(String mock) {
+		for (String ext : List.of(".json", ".yaml", ".yml")) {
+			String resource = MOCK_DIR + mock + ext;
+			try (InputStream in = resource(resource)) {
+				if (in == null) continue;
+				JsonElement root;
+				try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+					root = ext.equals(".json") ? JsonParser.parseReader(reader) : GSON.toJsonTree(new Yaml().load(reader));
+				}
+				return parse(mock, resource, root.getAsJsonObject());
+			} catch (IOException | RuntimeException e) {
+				throw new IllegalStateException("Invalid mock file " + resource + ": " + e.getMessage(), e);
+			}
+		}
+		throw new IllegalStateException("Mock '" + mock + "' not found on classpath: " + MOCK_DIR + mock + ".json|.yaml|.yml");
+	}
+
+	private static List<MockStub> parse(String mock, String resource, JsonObject root) throws IOException {
+		List<MockStub> stubs = new ArrayList<>();
+		int index = 0;
+		for (JsonElement element : root.getAsJsonArray("stubs")) {
+			JsonObject s = element.getAsJsonObject();
+			index++;
+			if (!s.has("url")) {
+				throw new IllegalArgumentException("stub #" + index + " has no 'url'");
+			}
+			Map<String, String> headers = new LinkedHashMap<>();
+			if (s.has("headers")) {
+				s.getAsJsonObject("headers").entrySet().forEach(h -> headers.put(h.getKey(), h.getValue().getAsString()));
+			}
+			String body = null;
+			if (s.has("bodyFile")) {
+				try (InputStream in = resource(MOCK_DIR + s.get("bodyFile").getAsString())) {
+					if (in == null) throw new IllegalArgumentException("bodyFile not found: " + s.get("bodyFile").getAsString());
+					body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+				}
+			} else if (s.has("body")) {
+				JsonElement b = s.get("body");
+				body = (b.isJsonPrimitive()) ? b.getAsString() : GSON.toJson(b);
+				if (!b.isJsonPrimitive()) headers.putIfAbsent("Content-Type", "application/json");
+			}
+			stubs.add(new MockStub(
+					s.has("name") ? s.get("name").getAsString() : mock + "#" + index,
+					s.has("method") ? s.get("method").getAsString() : null,
+					s.get("url").getAsString(),
+					s.has("status") ? s.get("status").getAsInt() : 200,
+					headers,
+					body,
+					s.has("latencyMs") ? s.get("latencyMs").getAsLong() : 0));
+		}
+		System.out.println("[Mocks] loaded " + stubs.size() + " stub(s) from " + resource);
+		return List.copyOf(stubs);
+	}
+
+	private static InputStream resource(String path) {
+		ClassLoader cl = Thread.currentThread().getContextClassLoader();
+		return (cl != null ? cl : NetworkMocks.class.getClassLoader()).getResourceAsStream(path);
+	}
+}
@@ -0,0 +1,173 @@
+package com.cro.playwright;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.cro.extentreporting.ExtentReportMetada;
+import com.cro.settings.PropertiesLoader;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.ConsoleMessage;
+
+/**
+ * Bounded per-scenario ring buffer of browser trouble: console errors/warnings, uncaught page errors, failed requests
+ * and responses at or above browser.log.http.status. Nothing is logged while scenarios pass; UIHooks dumps the buffer
+ * into the scenario log (Extent) only for a failed scenario, then every scenario starts empty.
+ *
+ * Listeners are attached once per context (BrowserManager.createContext) and run on the scenario thread, so the
+ * ring is a plain per-thread structure, allocated once per thread: parallel arrays holding the raw event parts,
+ * slots overwritten in place, no I/O and no string building until a dump. Events from the login / pre-scenario hooks of a scenario are part of its buffer.
+ *
+ * Config keys: browser.log.capture (default true), browser.log.buffer (entries, default 200),
+ *              browser.log.console.levels (default error,warning), browser.log.http.status (default 500)
+ */
+public final class BrowserEventBuffer {
+
+	private static final String[] KINDS = { "console", "pageerror", "requestfailed", "http" };
+	private static final byte CONSOLE = 0;
+	private static final byte PAGE_ERROR = 1;
+	private static final byte REQUEST_FAILED = 2;
+	private static final byte HTTP = 3;
+	private static final int MAX_TEXT = 2000;
+
+	/**
+	 * Fixed-size ring of the raw event parts as Playwright hands them over; only the slot's fields are replaced
+	 * when an event is recorded, the text is assembled in {@link #dump()}.
+	 */
+	private static final class Ring {
+		final long[] times;
+		final byte[] kinds;
+		final String[] details; // console level / request method, null otherwise
+		final String[] texts; // console text / error / request URL
+		final String[] extras; // console location / request failure, null otherwise
+		final int[] statuses; // HTTP status, 0 otherwise
+		long recorded;
+
+		Ring(int capacity) {
+			times = new long[capacity];
+			kinds = new byte[capacity];
+			details = new String[capacity];
+			texts = new String[capacity];
+			extras = new String[capacity];
+			statuses = new int[capacity];
+		}
+
+		void add(byte kind, String detail, String text, String extra, int status) {
+			int slot = (int) (recorded++ % times.length);
+			times[slot] = System.currentTimeMillis();
+			kinds[slot] = kind;
+			details[slot] = detail;
+			texts[slot] = text;
+			extras[slot] = extra;
+			statuses[slot] = status;
+		}
+
+		/** Reused by the thread's next scenario; references dropped so the strings can be collected. */
+		void reset() {
+			recorded = 0;
+			Arrays.fill(details, null);
+			Arrays.fill(texts, null);
+			Arrays.fill(extras, null);
+		}
+	}
+
+	private static final ThreadLocal<Ring> TL_RING = new ThreadLocal<>();
+
+	private static final AtomicInteger DUMPS = new AtomicInteger();
+	private static final AtomicInteger DUMPED_EVENTS = new AtomicInteger();
+
+	private BrowserEventBuffer() {
+		// prevent instantiation
+	}
+
+	public static boolean isEnabled() throws IOException {
+		return PropertiesLoader.getBooleanPropertyCached("browser.log.capture", true);
+	}
+
+	/** Feeds the context's console, page error, request failure and error response events into the thread's ring. */
+	public static void attach(BrowserContext context) {
+		try {
+			if (!isEnabled()) return;
+			Set<String> levels = Set.of(PropertiesLoader.getOptionalPropertyCached("browser.log.console.levels", "error,warning")
+					.toLowerCase(Locale.ROOT).split("\\s*,\\s*"));
+			int minStatus = PropertiesLoader.getIntPropertyCached("browser.log.http.status", 500);
+			context.onConsoleMessage(msg -> console(msg, levels));
+			context.onWebError(error -> record(PAGE_ERROR, null, error.error(), null, 0));
+			context.onRequestFailed(request -> record(REQUEST_FAILED, request.method(), request.url(), request.failure(), 0));
+			context.onResponse(response -> {
+				int status = response.status();
+				if (status >= minStatus) record(HTTP, response.request().method(), response.url(), null, status);
+			});
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to read browser.log settings", e);
+		}
+	}
+
+	/**
+	 * The buffered events of this thread's scenario, oldest first, or null when nothing was captured;
+	 * clears the buffer.
+	 */
+	public static String dump() {
+		Ring ring = TL_RING.get();
+		if (ring == null || ring.recorded == 0) return null;
+
+		int capacity = ring.times.length;
+		int count = (int) Math.min(ring.recorded, capacity);
+		long first = ring.recorded - count;
+		long now = System.currentTimeMillis();
+		StringBuilder sb = new StringBuilder("Browser events before failure (").append(count);
+		if (first > 0) sb.append(" most recent of ").append(ring.recorded);
+		sb.append("):");
+		for (long i = first; i < ring.recorded; i++) {
+			int slot = (int) (i % capacity);
+			sb.append("\n-").append(String.format(Locale.ROOT, "%.2f", (now - ring.times[slot]) / 1000.0)).append("s [")
+					.append(KINDS[ring.kinds[slot]]);
+			if (ring.details[slot] != null) sb.append(' ').append(ring.details[slot]);
+			if (ring.statuses[slot] != 0) sb.append(' ').append(ring.statuses[slot]);
+			String text = String.valueOf(ring.texts[slot]);
+			sb.append("] ").append(text.length() > MAX_TEXT ? text.substring(0, MAX_TEXT) + " …" : text);
+			String extra = ring.extras[slot];
+			if (extra != null) sb.append(ring.kinds[slot] == CONSOLE ? " @ " + extra : " (" + extra + ")");
+		}
+		ring.reset();
+		DUMPS.incrementAndGet();
+		DUMPED_EVENTS.addAndGet(count);
+		return sb.toString();
+	}
+
+	/** Drops the buffer of a scenario that passed. */
+	public static void clear() {
+		Ring ring = TL_RING.get();
+		if (ring != null && ring.recorded > 0) ring.reset();
+	}
+
+	public static void reportMetrics() {
+		if (DUMPS.get() == 0) return;
+		ExtentReportMetada.put("Browser Events", DUMPED_EVENTS.get() + " event(s) dumped for " + DUMPS.get()
+				+ " failed scenario(s)");
+	}
+
+	// --------- internal ---------
+
+	private static void console(ConsoleMessage msg, Set<String> levels) {
+		String type = msg.type();
+		if (levels.contains(type)) {
+			record(CONSOLE, type, msg.text(), msg.location(), 0);
+		}
+	}
+
+	private static void record(byte kind, String detail, String text, String extra, int status) {
+		Ring ring = TL_RING.get();
+		if (ring == null) {
+			try {
+				ring = new Ring(Math.max(1, PropertiesLoader.getIntPropertyCached("browser.log.buffer", 200)));
+			} catch (IOException e) {
+				throw new IllegalStateException("Failed to read browser.log.buffer", e);
+			}
+			TL_RING.set(ring);
+		}
+		ring.add(kind, detail, text, extra, status);
+	}
+}
@@ -8,11 +8,15 @@
  
 package com.cro.playwright;
  
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+ 
 import com.cro.extentreporting.ExtentReportMetada;
  
 public final class BrowserInfo {
  
     private static volatile boolean published = false;
+    private static final Set<String> PUBLISHED_BROWSERS = ConcurrentHashMap.newKeySet();
  
     public static void captureOnce(String version) {
         if (!published) {
@@ -24,5 +28,11 @@ public final class BrowserInfo {
             }
         }
     }
-}
- 
\ No newline at end of file
+ 
+    // Browser matrix: one version entry per browser of the run
+    public static void captureOnce(String browser, String version) {
+        if (PUBLISHED_BROWSERS.add(browser)) {
+            ExtentReportMetada.put("Browser Version [" + browser + "]", version);
+        }
+    }
+}
\ No newline at end of file
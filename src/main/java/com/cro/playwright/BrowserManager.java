@@ -1,62 +1,75 @@
 package com.cro.playwright;
+import java.io.IOException;
 import java.nio.file.Path;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import com.cro.coverage.RouteCoverage;
+import com.cro.extentreporting.ExtentReportMetada;
+import com.cro.jfr.BrowserLaunchEvent;
+import com.cro.jfr.ContextCreateEvent;
+import com.cro.utils.ProcessMetrics;
 import com.microsoft.playwright.*;
 public final class BrowserManager {
     // 🔐 One Playwright + one Browser per thread
     private static final ThreadLocal<Playwright> TL_PLAYWRIGHT = new ThreadLocal<>();
     private static final ThreadLocal<Browser> TL_BROWSER = new ThreadLocal<>();
+    // Driver process of this thread's Playwright (root of the browser process tree, for telemetry)
+    private static final ThreadLocal<ProcessHandle> TL_DRIVER = new ThreadLocal<>();
+    // Browsers of this thread by type (one entry unless a browser matrix runs several types on the thread)
+    private static final ThreadLocal<Map<String, Browser>> TL_BROWSERS = ThreadLocal.withInitial(HashMap::new);
     // 🔁 Per-scenario objects
     private static final ThreadLocal<BrowserContext> TL_CONTEXT = new ThreadLocal<>();
     private static final ThreadLocal<Page> TL_PAGE = new ThreadLocal<>();
     //for reading browser version
     private static final ThreadLocal<String> TL_BROWSER_TYPE = new ThreadLocal<>();
+    // Startup cost per worker (Playwright driver + browser launch/connect)
+    private static final AtomicInteger STARTUP_COUNT = new AtomicInteger();
+    private static final AtomicLong STARTUP_TOTAL_MS = new AtomicLong();
+    private static final AtomicLong STARTUP_MAX_MS = new AtomicLong();
+    private static final AtomicLong PEAK_RSS_KB = new AtomicLong(-1);
     private BrowserManager() {
         // prevent instantiation
     }     
     // =========================
     // Playwright + Browser initialization
     // =========================
-    public static synchronized void initBrowser(String browserType) {    	
-        if (TL_PLAYWRIGHT.get() != null) { 
+    // Not synchronized: all state is per thread, so workers (and matrix browsers) launch in parallel
+    public static void initBrowser(String browserType) {
+        String type = browserType.toLowerCase();
+        Map<String, Browser> browsers = TL_BROWSERS.get();
+        if (browsers.containsKey(type)) {
         	System.out.println(
                     "[BrowserManager] Browser already initialized for thread=" +
                     Thread.currentThread().getName()
                 );
-            return; // already initialized for this thread
+            TL_BROWSER_TYPE.set(type);
+            TL_BROWSER.set(browsers.get(type)); // matrix: switch to this thread's instance of the browser
+            return;
         }
-        TL_BROWSER_TYPE.set(browserType.toLowerCase());
-        Playwright playwright = Playwright.create();
-        TL_PLAYWRIGHT.set(playwright);
-        Browser browser;
-        switch (browserType.toLowerCase()) {
-            case "chrome":
-                browser = playwright.chromium().launch(
-                        new BrowserType.LaunchOptions()
-                                .setHeadless(false)
-                                .setChannel("chrome")
-                                .setArgs(List.of("--start-maximized"))
-                );
-                break;
-            case "edge":
-            case "msedge":
-                browser = playwright.chromium().launch(
-                        new BrowserType.LaunchOptions()
-                                .setHeadless(false)
-                                .setChannel("msedge")
-                                .setArgs(List.of("--start-maximized"))
-                );
-                break;
-            case "firefox":
-                browser = playwright.firefox().launch(
-                        new BrowserType.LaunchOptions()
-                                .setHeadless(false)
-                );
-                break;
-            default:
-                throw new IllegalArgumentException("Unsupported browser: " + browserType);
+        long start = System.currentTimeMillis();
+        BrowserLaunchEvent launchEvent = new BrowserLaunchEvent();
+        launchEvent.begin();
+        Playwright playwright = TL_PLAYWRIGHT.get();
+        if (playwright == null) {
+            playwright = Playwright.create();
+            TL_PLAYWRIGHT.set(playwright);
+            TL_DRIVER.set(BrowserTelemetry.driverProcess(playwright));
         }
+        LaunchSpec spec = LaunchSpec.of(browserType); // throws for unsupported browsers
+        Browser browser = BrowserServer.isActive()
+                ? BrowserServer.connect(playwright, browserType)   // shared server, one process per browser type
+                : spec.browserType(playwright).launch(spec.toLaunchOptions());
+        recordStartup(System.currentTimeMillis() - start);
+        launchEvent.finish(() -> {
+            launchEvent.browser = browserType;
+            launchEvent.mode = BrowserServer.isActive() ? "connect" : "launch";
+        });
+        browsers.put(type, browser);
+        TL_BROWSER_TYPE.set(type);
         TL_BROWSER.set(browser);
+        BrowserSupervisor.watch(browser);
         System.out.println(
         	    "BrowserHash=" + System.identityHashCode(TL_BROWSER.get()) +
         	    " Thread=" + Thread.currentThread().getName()
@@ -72,10 +85,18 @@ public final class BrowserManager {
     }
     public static void createContext(Path storageState) {
  
+        ContextCreateEvent contextEvent = new ContextCreateEvent();
+        contextEvent.begin();
         Browser browser = TL_BROWSER.get();        
         if (browser == null) {
             throw new IllegalStateException("Browser not initialized. Call initBrowser() first.");
         }
+        String relaunch = supervisorCheck(browser);
+        if (relaunch != null) {
+            browser = relaunch(relaunch); // crashed, page crash, or due for recycling (BrowserSupervisor)
+        } else if (!browser.isConnected() && BrowserServer.isActive()) {
+            browser = reconnect(); // browser server restarted underneath this worker
+        }
  
         Browser.NewContextOptions options =
                 new Browser.NewContextOptions()
@@ -85,9 +106,27 @@ public final class BrowserManager {
             options.setStorageStatePath(storageState);
         }
  
-        BrowserContext context = browser.newContext(options);
+        BrowserContext context;
+        try {
+            context = browser.newContext(options);
+        } catch (PlaywrightException e) {
+            if (!supervised()) throw e;
+            // browser died since the check (events only arrive while Playwright is called) → once on a fresh one
+            System.out.println("[BrowserSupervisor] newContext failed, retrying once on a relaunched browser: " + e.getMessage());
+            BrowserSupervisor.contextRetried();
+            browser = relaunch("newContext failed");
+            context = browser.newContext(options);
+        }
+        BrowserSupervisor.contextCreated(context);
+        RouteCoverage.attach(context); // no-op unless coverage.record=true
+        BrowserEventBuffer.attach(context); // console / page errors / failed requests, dumped only on failure
+        StabilityWait.attach(context); // before newPage, so the init script and navigation watch cover the first page
         TL_CONTEXT.set(context);
         TL_PAGE.set(context.newPage());
+        contextEvent.finish(() -> {
+            contextEvent.browser = TL_BROWSER_TYPE.get();
+            contextEvent.storageState = (storageState == null) ? null : storageState.getFileName().toString();
+        });
     }
     public static BrowserContext getContext() {
         BrowserContext context = TL_CONTEXT.get();
@@ -121,9 +160,10 @@ public final class BrowserManager {
         TL_PAGE.remove();
     }
     public static void closePlaywright() {
-        Browser browser = TL_BROWSER.get();
-        if (browser != null) {
+        ContextRecycler.discardAll(); // contexts kept for recycling on this thread
+        for (Browser browser : TL_BROWSERS.get().values()) {
             try {
+                BrowserSupervisor.expectClose(browser);
                 browser.close();
             } catch (Exception e) {
                 System.err.println("[BrowserManager] Browser close failed: " + e.getMessage());
@@ -137,9 +177,111 @@ public final class BrowserManager {
                 System.err.println("[BrowserManager] Playwright close failed: " + e.getMessage());
             }
         }
+        TL_BROWSERS.remove();
         TL_BROWSER.remove();
         TL_PLAYWRIGHT.remove();
+        TL_DRIVER.remove();
     } 
+    // =========================
+    // Browser server reconnect + startup metrics
+    // =========================
+    private static Browser reconnect() {
+        System.out.println("[BrowserManager] Browser disconnected, reconnecting to browser server | thread="
+                + Thread.currentThread().getName());
+        Browser browser = BrowserServer.connect(TL_PLAYWRIGHT.get(), TL_BROWSER_TYPE.get());
+        TL_BROWSERS.get().put(TL_BROWSER_TYPE.get(), browser);
+        TL_BROWSER.set(browser);
+        BrowserSupervisor.watch(browser);
+        return browser;
+    }
+    // =========================
+    // Browser health (BrowserSupervisor): relaunch this thread's browser in place
+    // =========================
+    private static Browser relaunch(String reason) {
+        String type = TL_BROWSER_TYPE.get();
+        System.out.println("[BrowserSupervisor] relaunching " + type + " (" + reason + ") | thread="
+                + Thread.currentThread().getName());
+        BrowserSupervisor.relaunched(reason);
+        if (BrowserServer.isActive()) {
+            return reconnect();
+        }
+        Browser old = TL_BROWSER.get();
+        ContextRecycler.discardAll(); // kept contexts may belong to the old browser
+        BrowserSupervisor.expectClose(old);
+        try {
+            old.close();
+        } catch (Exception e) {
+            // already gone with the crash
+        }
+        long start = System.currentTimeMillis();
+        Browser browser;
+        try {
+            LaunchSpec spec = LaunchSpec.of(type);
+            browser = spec.browserType(TL_PLAYWRIGHT.get()).launch(spec.toLaunchOptions());
+        } catch (PlaywrightException e) {
+            // the driver went down with the browser → new Playwright + browser for this thread
+            closePlaywright();
+            initBrowser(type);
+            return TL_BROWSER.get();
+        }
+        recordStartup(System.currentTimeMillis() - start);
+        TL_BROWSERS.get().put(type, browser);
+        TL_BROWSER.set(browser);
+        BrowserSupervisor.watch(browser);
+        return browser;
+    }
+    private static String supervisorCheck(Browser browser) {
+        try {
+            return BrowserSupervisor.relaunchReason(browser, TL_DRIVER.get());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read browser supervisor settings", e);
+        }
+    }
+    private static boolean supervised() {
+        try {
+            return BrowserSupervisor.isEnabled();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read browser.supervisor", e);
+        }
+    }
+    private static void recordStartup(long ms) {
+        STARTUP_COUNT.incrementAndGet();
+        STARTUP_TOTAL_MS.addAndGet(ms);
+        STARTUP_MAX_MS.accumulateAndGet(ms, Math::max);
+        PEAK_RSS_KB.accumulateAndGet(ProcessMetrics.descendantsRssKb(), Math::max);
+    }
+    /** Same metrics in both modes, so per-thread and browser-server runs can be compared. */
+    public static void reportStartupMetrics() {
+        if (STARTUP_COUNT.get() == 0) return;
+        PEAK_RSS_KB.accumulateAndGet(ProcessMetrics.descendantsRssKb(), Math::max);
+        ExtentReportMetada.put("Browser Mode", BrowserServer.isActive() ? "browser-server (BrowserType.connect)" : "per-thread launch");
+        ExtentReportMetada.put("Browser Startup", STARTUP_COUNT.get() + " worker(s), total=" + STARTUP_TOTAL_MS.get()
+                + "ms, max=" + STARTUP_MAX_MS.get() + "ms");
+        ExtentReportMetada.put("Browser Peak RSS", ProcessMetrics.formatKb(PEAK_RSS_KB.get())
+                + " (drivers + browsers, all child processes)");
+        BrowserServer.reportMetrics();
+    }
+    // Context recycling (ContextRecycler): a kept context becomes the current one / leaves it without closing
+    static void adoptContext(BrowserContext context, Page page) {
+        TL_CONTEXT.set(context);
+        TL_PAGE.set(page);
+    }
+    static void detachContext() {
+        TL_CONTEXT.remove();
+        TL_PAGE.remove();
+    }
+    static String currentBrowserType() {
+        return TL_BROWSER_TYPE.get();
+    }
+    /** Why this thread's browser must be relaunched before it is used again (BrowserSupervisor), or null. */
+    static String relaunchReason() {
+        Browser browser = TL_BROWSER.get();
+        return (browser == null) ? null : supervisorCheck(browser);
+    }
+    /** Driver process of this thread's Playwright, or null if not created / not resolvable. */
+    public static ProcessHandle getDriverProcess() {
+        return TL_DRIVER.get();
+    }
     //Method to get browser verstion and push data in Extent Report, note browser version is associated with actual playwright browser launched
     public static String getBrowserVersion() {
  
@@ -0,0 +1,134 @@
+package com.cro.playwright;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter;
+import com.cro.extentreporting.ExtentReportMetada;
+import com.cro.settings.PropertiesLoader;
+import com.cro.settings.PropertiesLoader.Browser;
+
+/**
+ * Cross-browser matrix in one run (-Dbrowsers=chrome,firefox,msedge).
+ *
+ * The runner expands every pickle once per browser and interleaves them, so all browsers progress together
+ * and wall time tends towards the slowest browser instead of the sum. Each browser has
+ *   - its own pool: BrowserManager keeps one instance per browser type per worker thread
+ *   - its own capacity: at most browsers.&lt;name&gt;.capacity scenarios at once (default browsers.capacity,
+ *     itself defaulting to dp.threads, i.e. no extra limit); &lt;name&gt; is any alias of the browser, e.g.
+ *     browsers.edge.capacity or browsers.msedge.capacity (the normalized name wins when both are set)
+ * Scenarios are tagged with their browser as Extent "device", so the Spark report groups results per browser.
+ *
+ * Config keys: browsers, browsers.capacity, browsers.&lt;name&gt;.capacity
+ */
+public final class BrowserMatrix {
+
+	private static final ThreadLocal<String> TL_CURRENT = new ThreadLocal<>();
+	private static final Map<String, Semaphore> CAPACITY = new ConcurrentHashMap<>();
+	private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+
+	private static final class Stats {
+		final AtomicInteger passed = new AtomicInteger();
+		final AtomicInteger failed = new AtomicInteger();
+		final AtomicLong firstStart = new AtomicLong(Long.MAX_VALUE);
+		final AtomicLong lastEnd = new AtomicLong();
+	}
+
+	private BrowserMatrix() {
+		// prevent instantiation
+	}
+
+	public static List<String> browsers() throws IOException {
+		return PropertiesLoader.matrixBrowsersCached();
+	}
+
+	/** Browser of the matrix scenario running on this thread, else the run's single effective browser. */
+	public static String currentBrowser() throws IOException {
+		String browser = TL_CURRENT.get();
+		return (browser != null) ? browser : PropertiesLoader.effectiveBrowserCached();
+	}
+
+	public static boolean isMatrixScenario() {
+		return TL_CURRENT.get() != null;
+	}
+
+	/** Browser of the matrix scenario running on this thread, or null outside a matrix run. */
+	public static String matrixBrowser() {
+		return TL_CURRENT.get();
+	}
+
+	/** Runs one expanded scenario within its browser's capacity limit. */
+	public static void run(String browser, Runnable scenario) {
+		Semaphore permits = CAPACITY.computeIfAbsent(browser, BrowserMatrix::capacity);
+		Stats stats = STATS.computeIfAbsent(browser, b -> new Stats());
+		permits.acquireUninterruptibly();
+		TL_CURRENT.set(browser);
+		stats.firstStart.accumulateAndGet(System.currentTimeMillis(), Math::min);
+		try {
+			scenario.run();
+			stats.passed.incrementAndGet();
+		} catch (RuntimeException | Error e) {
+			stats.failed.incrementAndGet();
+			throw e;
+		} finally {
+			stats.lastEnd.accumulateAndGet(System.currentTimeMillis(), Math::max);
+			TL_CURRENT.remove();
+			permits.release();
+		}
+	}
+
+	/** Groups the current Extent scenario under its browser (Spark "Device" view). */
+	public static void tagReport(String browser) {
+		try {
+			ExtentCucumberAdapter.getCurrentScenario().assignDevice(browser);
+		} catch (Throwable t) {
+			// Extent not active for this scenario
+		}
+	}
+
+	public static void reportMetrics() {
+		if (STATS.isEmpty()) return;
+		long start = Long.MAX_VALUE;
+		long end = 0;
+		long slowest = 0;
+		StringBuilder perBrowser = new StringBuilder();
+		for (Map.Entry<String, Stats> e : new TreeMap<>(STATS).entrySet()) {
+			Stats s = e.getValue();
+			long wall = s.lastEnd.get() - s.firstStart.get();
+			start = Math.min(start, s.firstStart.get());
+			end = Math.max(end, s.lastEnd.get());
+			slowest = Math.max(slowest, wall);
+			perBrowser.append(perBrowser.length() == 0 ? "" : "; ").append(e.getKey()).append(": ")
+					.append(s.passed.get()).append(" passed, ").append(s.failed.get()).append(" failed, wall=")
+					.append(wall).append("ms");
+		}
+		ExtentReportMetada.put("Browser Matrix", perBrowser.toString());
+		ExtentReportMetada.put("Browser Matrix Wall Time", "total=" + (end - start) + "ms, slowest browser=" + slowest + "ms");
+	}
+
+	// --------- internal ---------
+
+	private static Semaphore capacity(String browser) {
+		try {
+			int threads = Integer.parseInt(System.getProperty("dp.threads", "1"));
+			int capacity = PropertiesLoader.getIntPropertyCached("browsers.capacity", Math.max(1, threads));
+			// matrix names are normalized (msedge → edge): the key may use any alias of the browser
+			for (String alias : Browser.of(browser).aliases()) {
+				String key = "browsers." + alias + ".capacity";
+				if (PropertiesLoader.getOptionalPropertyCached(key, null) != null) {
+					capacity = PropertiesLoader.getIntPropertyCached(key, capacity);
+					break;
+				}
+			}
+			return new Semaphore(Math.max(1, capacity), true);
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to read browser capacity for " + browser, e);
+		}
+	}
+}
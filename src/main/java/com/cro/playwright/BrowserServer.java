@@ -0,0 +1,202 @@
+package com.cro.playwright;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.cro.extentreporting.ExtentReportMetada;
+import com.cro.settings.PropertiesLoader;
+import com.cro.utils.ProcessMetrics;
+import com.google.gson.Gson;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.impl.driver.Driver;
+
+/**
+ * Browser-server mode (browser.server=true): ONE local browser process per browser type for the whole run.
+ *
+ * The server is started at @BeforeAll with the Node.js runtime bundled in the Playwright driver
+ * (playwright-core launchServer, same LaunchSpec as the per-thread launch). Workers attach with
+ * BrowserType.connect over a local websocket and get isolated contexts as before. If the server process dies
+ * it is restarted on the next connect, and BrowserManager reconnects workers whose browser got disconnected.
+ *
+ * The Java client still needs one Playwright driver per thread (not thread-safe); only the browsers are shared.
+ *
+ * Config keys: browser.server (default false), browser.server.start.timeout.ms (default 60000)
+ */
+public final class BrowserServer {
+
+	// Reads launch options from argv, prints the endpoint, shuts down when stdin closes (JVM exit or stop())
+	private static final String SERVER_SCRIPT = String.join("\n",
+			"const pw = require(process.argv[2]);",
+			"(async () => {",
+			"  const server = await pw[process.argv[3]].launchServer(JSON.parse(process.argv[4]));",
+			"  console.log('WS_ENDPOINT=' + server.wsEndpoint());",
+			"  const stop = () => server.close().finally(() => process.exit(0));",
+			"  process.stdin.on('end', stop).on('close', stop).resume();",
+			"})().catch(e => { console.error(e && e.stack || e); process.exit(1); });",
+			"");
+
+	private record Handle(Process process, String wsEndpoint, long startMs) { }
+
+	private static final Map<String, Handle> SERVERS = new ConcurrentHashMap<>();
+	private static final Gson GSON = new Gson();
+
+	private static volatile boolean active;
+
+	private BrowserServer() {
+		// prevent instantiation
+	}
+
+	public static boolean isEnabled() throws IOException {
+		return PropertiesLoader.getBooleanPropertyCached("browser.server", false);
+	}
+
+	public static boolean isActive() {
+		return active;
+	}
+
+	/** Starts one server per browser type; no-op unless browser.server=true. */
+	public static synchronized void startAll(Collection<String> browserTypes) throws IOException {
+		if (!isEnabled()) return;
+		for (String browserType : browserTypes) {
+			ensureRunning(browserType);
+		}
+		active = true;
+		Runtime.getRuntime().addShutdownHook(new Thread(BrowserServer::stopAll, "browser-server-shutdown"));
+	}
+
+	/** Connects the calling thread's Playwright to the shared server (restarting it if it died). */
+	public static Browser connect(Playwright playwright, String browserType) {
+		LaunchSpec spec = LaunchSpec.of(browserType);
+		Handle handle = ensureRunning(browserType);
+		return spec.browserType(playwright).connect(handle.wsEndpoint(),
+				new BrowserType.ConnectOptions().setTimeout(TimeUnit.SECONDS.toMillis(30)));
+	}
+
+	public static synchronized void stopAll() {
+		for (Map.Entry<String, Handle> e : SERVERS.entrySet()) {
+			Process p = e.getValue().process();
+			try {
+				p.getOutputStream().close(); // script closes the browser gracefully on stdin EOF
+				if (!p.waitFor(10, TimeUnit.SECONDS)) {
+					p.descendants().forEach(ProcessHandle::destroyForcibly);
+					p.destroyForcibly();
+				}
+			} catch (IOException | InterruptedException ex) {
+				p.destroyForcibly();
+			}
+		}
+		SERVERS.clear();
+		active = false;
+	}
+
+	/** Startup time and memory of the server processes, for comparison with per-thread mode. */
+	public static void reportMetrics() {
+		if (!active) return;
+		long rss = 0;
+		StringBuilder startup = new StringBuilder();
+		for (Map.Entry<String, Handle> e : SERVERS.entrySet()) {
+			long kb = ProcessMetrics.treeRssKb(e.getValue().process().toHandle());
+			rss = (kb < 0 || rss < 0) ? -1 : rss + kb;
+			startup.append(startup.length() == 0 ? "" : ", ").append(e.getKey()).append('=').append(e.getValue().startMs()).append("ms");
+		}
+		ExtentReportMetada.put("Browser Server", "startup " + startup + ", server RSS=" + ProcessMetrics.formatKb(rss));
+	}
+
+	// --------- internal ---------
+
+	private static synchronized Handle ensureRunning(String browserType) {
+		String key = browserType.toLowerCase(Locale.ROOT);
+		Handle handle = SERVERS.get(key);
+		if (handle != null && handle.process().isAlive()) {
+			return handle;
+		}
+		if (handle != null) {
+			System.out.println("[BrowserServer] " + key + " server exited (code " + handle.process().exitValue() + "), restarting");
+		}
+		handle = start(key);
+		SERVERS.put(key, handle);
+		return handle;
+	}
+
+	private static Handle start(String browserType) {
+		LaunchSpec spec = LaunchSpec.of(browserType);
+		long start = System.currentTimeMillis();
+		try {
+			Driver driver = Driver.ensureDriverInstalled(System.getenv(), false);
+			ProcessBuilder pb = driver.createProcessBuilder(); // [node, cli.js] + driver environment
+			Path script = Files.createTempFile("pw-browser-server-", ".js");
+			script.toFile().deleteOnExit();
+			Files.writeString(script, SERVER_SCRIPT, StandardCharsets.UTF_8);
+
+			Map<String, Object> options = new LinkedHashMap<>();
+			options.put("headless", spec.headless());
+			if (spec.channel() != null) options.put("channel", spec.channel());
+			options.put("args", spec.args());
+
+			pb.command(List.of(pb.command().get(0), script.toString(),
+					driver.driverDir().resolve("package").toString(), spec.engine(), GSON.toJson(options)));
+			pb.redirectError(ProcessBuilder.Redirect.INHERIT);
+			Process process = pb.start();
+
+			String wsEndpoint = readEndpoint(process, PropertiesLoader.getIntPropertyCached("browser.server.start.timeout.ms", 60000));
+			long took = System.currentTimeMillis() - start;
+			System.out.println("[BrowserServer] " + browserType + " server pid=" + process.pid() + " at " + wsEndpoint
+					+ " started in " + took + "ms");
+			return new Handle(process, wsEndpoint, took);
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to start browser server for " + browserType, e);
+		}
+	}
+
+	/** Waits for the endpoint line; the reader keeps draining stdout afterwards so the server never blocks on it. */
+	private static String readEndpoint(Process process, long timeoutMs) {
+		CompletableFuture<String> endpoint = new CompletableFuture<>();
+		Thread reader = new Thread(() -> {
+			try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+				String line;
+				while ((line = out.readLine()) != null) {
+					if (line.startsWith("WS_ENDPOINT=")) {
+						endpoint.complete(line.substring("WS_ENDPOINT=".length()).trim());
+					}
+				}
+			} catch (IOException ignored) {
+				// stream closed with the process
+			}
+			endpoint.complete(null);
+		}, "browser-server-stdout-" + process.pid());
+		reader.setDaemon(true);
+		reader.start();
+
+		try {
+			String ws = endpoint.get(timeoutMs, TimeUnit.MILLISECONDS);
+			if (ws == null) {
+				throw new IllegalStateException("Browser server exited before publishing its endpoint (see stderr)");
+			}
+			return ws;
+		} catch (TimeoutException e) {
+			process.destroyForcibly();
+			throw new IllegalStateException("Browser server did not start within " + timeoutMs + "ms");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while starting browser server", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Failed to read browser server endpoint", e.getCause());
+		}
+	}
+}
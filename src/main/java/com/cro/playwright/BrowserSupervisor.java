@@ -0,0 +1,123 @@
+package com.cro.playwright;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.cro.extentreporting.ExtentReportMetada;
+import com.cro.settings.PropertiesLoader;
+import com.cro.utils.ProcessMetrics;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+
+/**
+ * Health policy for the per-thread browsers of BrowserManager.
+ *
+ * Listens for browser disconnects and page crashes, and decides before every context creation whether the
+ * thread's browser has to be relaunched:
+ *   - disconnected / crashed (unexpected disconnect event or !isConnected)
+ *   - a page of it crashed (renderer OOM is usually the first sign of a degraded browser)
+ *   - browser.recycle.contexts contexts created since launch (0 = off)
+ *   - the thread's driver process tree above browser.recycle.rss.mb (0 = off, Linux /proc only)
+ * BrowserManager relaunches transparently and retries a failed newContext once on a fresh browser.
+ * With a browser server the shared browser is only reconnected, never recycled from a worker.
+ *
+ * Config keys: browser.supervisor (default true), browser.recycle.contexts (default 0), browser.recycle.rss.mb (default 0)
+ */
+public final class BrowserSupervisor {
+
+	/** Health of one browser of this thread (a browser matrix runs several per thread). */
+	private static final class Health {
+		int contexts;
+		String pending; // relaunch reason noted by an event
+	}
+
+	private static final ThreadLocal<Map<Browser, Health>> TL_HEALTH = ThreadLocal.withInitial(WeakHashMap::new);
+
+	// Browsers closed on purpose (teardown, recycling): their disconnect event is not a crash
+	private static final Set<Browser> CLOSING = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+	private static final AtomicInteger DISCONNECTS = new AtomicInteger();
+	private static final AtomicInteger PAGE_CRASHES = new AtomicInteger();
+	private static final AtomicInteger RETRIED_CONTEXTS = new AtomicInteger();
+	private static final Map<String, AtomicInteger> RELAUNCHES = new ConcurrentHashMap<>();
+
+	private BrowserSupervisor() {
+		// prevent instantiation
+	}
+
+	public static boolean isEnabled() throws IOException {
+		return PropertiesLoader.getBooleanPropertyCached("browser.supervisor", true);
+	}
+
+	/** Starts supervising a freshly launched / connected browser of this thread. */
+	static void watch(Browser browser) {
+		Health health = new Health();
+		TL_HEALTH.get().put(browser, health);
+		browser.onDisconnected(b -> {
+			if (CLOSING.remove(b)) return;
+			DISCONNECTS.incrementAndGet();
+			health.pending = "disconnected";
+			System.out.println("[BrowserSupervisor] browser disconnected unexpectedly | thread=" + Thread.currentThread().getName());
+		});
+	}
+
+	/** Counts a context of the current browser and watches its pages for renderer crashes. */
+	static void contextCreated(BrowserContext context) {
+		Health health = health(context.browser());
+		health.contexts++;
+		context.onPage(page -> page.onCrash(p -> {
+			PAGE_CRASHES.incrementAndGet();
+			health.pending = "page crash";
+			System.out.println("[BrowserSupervisor] page crashed: " + p.url() + " | thread=" + Thread.currentThread().getName());
+		}));
+	}
+
+	/** Marks an intentional close so its disconnect event is not counted as a crash. */
+	static void expectClose(Browser browser) {
+		CLOSING.add(browser);
+		TL_HEALTH.get().remove(browser);
+	}
+
+	/** Why the thread's browser must be relaunched before the next context, or null when it is healthy. */
+	static String relaunchReason(Browser browser, ProcessHandle driver) throws IOException {
+		if (!isEnabled()) return null;
+		Health health = health(browser);
+		if (health.pending != null) return health.pending;
+		if (!browser.isConnected()) return "disconnected";
+		if (BrowserServer.isActive()) return null; // shared server browser: not a worker's to recycle
+		int maxContexts = PropertiesLoader.getIntPropertyCached("browser.recycle.contexts", 0);
+		if (maxContexts > 0 && health.contexts >= maxContexts) return "recycle after " + maxContexts + " contexts";
+		int maxRssMb = PropertiesLoader.getIntPropertyCached("browser.recycle.rss.mb", 0);
+		if (maxRssMb > 0 && driver != null) {
+			long rssKb = ProcessMetrics.treeRssKb(driver);
+			if (rssKb > maxRssMb * 1024L) return "recycle above " + maxRssMb + " MB RSS";
+		}
+		return null;
+	}
+
+	static void relaunched(String reason) {
+		RELAUNCHES.computeIfAbsent(reason.startsWith("recycle") ? reason : "recovered: " + reason,
+				r -> new AtomicInteger()).incrementAndGet();
+	}
+
+	static void contextRetried() {
+		RETRIED_CONTEXTS.incrementAndGet();
+	}
+
+	public static void reportMetrics() {
+		if (RELAUNCHES.isEmpty() && DISCONNECTS.get() == 0 && PAGE_CRASHES.get() == 0) return;
+		ExtentReportMetada.put("Browser Health", DISCONNECTS.get() + " disconnect(s), " + PAGE_CRASHES.get()
+				+ " page crash(es), " + RETRIED_CONTEXTS.get() + " context creation(s) retried, relaunches "
+				+ new TreeMap<>(RELAUNCHES));
+	}
+
+	private static Health health(Browser browser) {
+		return TL_HEALTH.get().computeIfAbsent(browser, b -> new Health());
+	}
+}
@@ -0,0 +1,206 @@
+package com.cro.playwright;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.cro.extentreporting.ExtentReportMetada;
+import com.cro.settings.PropertiesLoader;
+import com.cro.utils.ProcessMetrics;
+import com.microsoft.playwright.Playwright;
+
+/**
+ * Per-scenario resource telemetry of the browser process tree behind this thread's Browser
+ * (-Dbrowser.telemetry=true).
+ *
+ * The tree is rooted at the thread's Playwright driver process (node), whose descendants are the browsers it
+ * launched and their renderer/GPU/utility processes. It is sampled at scenario start, every
+ * browser.telemetry.interval.ms while the scenario runs, and at scenario end:
+ *   - CPU time (ProcessHandle.Info.totalCpuDuration), accumulated per pid so renderers that exit mid-scenario still count
+ *   - resident memory (/proc VmRSS via ProcessMetrics): start, peak, end
+ *   - process count: start, peak, end
+ * In browser-server mode the browsers belong to the shared server, so only the driver is attributed to the scenario.
+ *
+ * Config keys: browser.telemetry (default false), browser.telemetry.interval.ms (default 1000)
+ */
+public final class BrowserTelemetry {
+
+	/** One scenario's samples; mutated by the owning thread and the sampler, hence synchronized. */
+	private static final class Monitor {
+		final ProcessHandle root;
+		final long startMs = System.currentTimeMillis();
+		final Map<Long, Long> cpuAtStart = new HashMap<>();
+		final Map<Long, Long> cpuLast = new HashMap<>();
+		long rssStartKb;
+		long rssPeakKb;
+		long rssEndKb;
+		int procsStart;
+		int procsPeak;
+		int procsEnd;
+		int samples;
+
+		Monitor(ProcessHandle root) {
+			this.root = root;
+		}
+
+		synchronized void sample(boolean first) {
+			List<ProcessHandle> tree = Stream.concat(Stream.of(root), root.descendants())
+					.filter(ProcessHandle::isAlive).collect(Collectors.toList());
+			long rss = 0;
+			for (ProcessHandle p : tree) {
+				long cpu = p.info().totalCpuDuration().map(Duration::toMillis).orElse(-1L);
+				if (cpu >= 0) {
+					if (first) cpuAtStart.put(p.pid(), cpu);
+					cpuLast.merge(p.pid(), cpu, Math::max);
+				}
+				rss += Math.max(0, ProcessMetrics.rssKb(p.pid()));
+			}
+			if (!ProcessMetrics.isSupported()) rss = -1;
+			if (first) {
+				rssStartKb = rss;
+				rssPeakKb = rss;
+				procsStart = tree.size();
+			}
+			rssEndKb = rss;
+			procsEnd = tree.size();
+			rssPeakKb = Math.max(rssPeakKb, rss);
+			procsPeak = Math.max(procsPeak, tree.size());
+			samples++;
+		}
+
+		synchronized long cpuMs() {
+			long total = 0;
+			for (Map.Entry<Long, Long> e : cpuLast.entrySet()) {
+				total += e.getValue() - cpuAtStart.getOrDefault(e.getKey(), 0L); // new pid → all of its CPU is ours
+			}
+			return total;
+		}
+	}
+
+	private static final ThreadLocal<Monitor> TL_MONITOR = new ThreadLocal<>();
+	private static final Map<Thread, Monitor> ACTIVE = new ConcurrentHashMap<>();
+
+	// Run-level peaks
+	private static final AtomicLong PEAK_RSS_KB = new AtomicLong(-1);
+	private static final AtomicLong PEAK_PROCS = new AtomicLong();
+	private static final AtomicLong MAX_CPU_MS = new AtomicLong();
+	private static final AtomicLong TOTAL_CPU_MS = new AtomicLong();
+	private static final AtomicLong MAX_RSS_GROWTH_KB = new AtomicLong();
+	private static final AtomicLong SCENARIOS = new AtomicLong();
+	private static volatile String maxCpuScenario = "";
+	private static volatile String maxGrowthScenario = "";
+
+	private static volatile ScheduledExecutorService sampler;
+	private static volatile Field driverProcessField;
+
+	private BrowserTelemetry() {
+		// prevent instantiation
+	}
+
+	public static boolean isEnabled() throws IOException {
+		return PropertiesLoader.getBooleanPropertyCached("browser.telemetry", false);
+	}
+
+	/**
+	 * Driver process of a Playwright instance. The Java API does not expose it, so it is read from
+	 * PlaywrightImpl.driverProcess; null when the field is not there (other Playwright version) or not accessible.
+	 */
+	public static ProcessHandle driverProcess(Playwright playwright) {
+		try {
+			Field field = driverProcessField;
+			if (field == null) {
+				field = playwright.getClass().getDeclaredField("driverProcess");
+				if (!field.trySetAccessible()) return null;
+				driverProcessField = field;
+			}
+			Process process = (Process) field.get(playwright);
+			return (process == null) ? null : process.toHandle();
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			System.out.println("[BrowserTelemetry] driver process not available: " + e.getMessage());
+			return null;
+		}
+	}
+
+	/** Takes the start sample for the scenario on this thread; no-op when disabled or the driver is unknown. */
+	public static void start() throws IOException {
+		if (!isEnabled()) return;
+		ProcessHandle root = BrowserManager.getDriverProcess();
+		if (root == null) return;
+		Monitor monitor = new Monitor(root);
+		monitor.sample(true);
+		TL_MONITOR.set(monitor);
+		ACTIVE.put(Thread.currentThread(), monitor);
+		ensureSampler();
+	}
+
+	/** Takes the end sample and returns the scenario summary (null when nothing was monitored). */
+	public static String stop(String scenarioName) {
+		Monitor monitor = TL_MONITOR.get();
+		TL_MONITOR.remove();
+		if (monitor == null) return null;
+		ACTIVE.remove(Thread.currentThread());
+		monitor.sample(false);
+
+		long cpuMs = monitor.cpuMs();
+		long wallMs = Math.max(1, System.currentTimeMillis() - monitor.startMs);
+		long growthKb = (monitor.rssStartKb < 0) ? 0 : monitor.rssEndKb - monitor.rssStartKb;
+		SCENARIOS.incrementAndGet();
+		TOTAL_CPU_MS.addAndGet(cpuMs);
+		PEAK_RSS_KB.accumulateAndGet(monitor.rssPeakKb, Math::max);
+		PEAK_PROCS.accumulateAndGet(monitor.procsPeak, Math::max);
+		if (MAX_CPU_MS.getAndAccumulate(cpuMs, Math::max) < cpuMs) maxCpuScenario = scenarioName;
+		if (MAX_RSS_GROWTH_KB.getAndAccumulate(growthKb, Math::max) < growthKb) maxGrowthScenario = scenarioName;
+
+		return "Browser resources (driver pid " + monitor.root.pid() + " + descendants"
+				+ (BrowserServer.isActive() ? ", browsers in shared server not included" : "") + ")\n"
+				+ "CPU time: " + cpuMs + " ms over " + wallMs + " ms wall (" + Math.round(cpuMs * 100.0 / wallMs) + "% of one core)\n"
+				+ "RSS: start " + ProcessMetrics.formatKb(monitor.rssStartKb) + ", peak " + ProcessMetrics.formatKb(monitor.rssPeakKb)
+				+ ", end " + ProcessMetrics.formatKb(monitor.rssEndKb) + (monitor.rssStartKb < 0 ? "" : " (" + (growthKb >= 0 ? "+" : "") + growthKb / 1024 + " MB)") + "\n"
+				+ "Processes: start " + monitor.procsStart + ", peak " + monitor.procsPeak + ", end " + monitor.procsEnd
+				+ " | samples=" + monitor.samples;
+	}
+
+	public static void reportMetrics() {
+		ScheduledExecutorService s = sampler;
+		if (s != null) s.shutdownNow();
+		if (SCENARIOS.get() == 0) return;
+		ExtentReportMetada.put("Browser Resources Peak", "RSS " + ProcessMetrics.formatKb(PEAK_RSS_KB.get()) + ", "
+				+ PEAK_PROCS.get() + " processes (largest single thread tree)");
+		ExtentReportMetada.put("Browser CPU Time", "total " + TOTAL_CPU_MS.get() + " ms over " + SCENARIOS.get()
+				+ " scenario(s), max " + MAX_CPU_MS.get() + " ms (" + maxCpuScenario + ")");
+		ExtentReportMetada.put("Browser RSS Growth", "max +" + MAX_RSS_GROWTH_KB.get() / 1024 + " MB within one scenario"
+				+ (maxGrowthScenario.isEmpty() ? "" : " (" + maxGrowthScenario + ")"));
+	}
+
+	// --------- internal ---------
+
+	private static synchronized void ensureSampler() throws IOException {
+		if (sampler != null) return;
+		int interval = Math.max(100, PropertiesLoader.getIntPropertyCached("browser.telemetry.interval.ms", 1000));
+		ScheduledExecutorService s = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "browser-telemetry");
+			t.setDaemon(true);
+			return t;
+		});
+		s.scheduleWithFixedDelay(() -> {
+			for (Monitor m : ACTIVE.values()) {
+				try {
+					m.sample(false);
+				} catch (RuntimeException e) {
+					// process tree changed while sampling; next tick catches up
+				}
+			}
+		}, interval, interval, TimeUnit.MILLISECONDS);
+		sampler = s;
+	}
+}
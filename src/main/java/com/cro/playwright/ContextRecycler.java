@@ -0,0 +1,316 @@
+package com.cro.playwright;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.cro.coverage.RouteCoverage;
+import com.cro.extentreporting.ExtentReportMetada;
+import com.cro.settings.PropertiesLoader;
+import com.cro.settings.PropertiesLoader.NetworkMode;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Route;
+import com.microsoft.playwright.options.Cookie;
+
+/**
+ * Scenario context lifecycle with opt-in recycling (-Dcontext.recycle=true): instead of closing the context after
+ * every scenario, each thread keeps one context per browser + role + session file and hands it to the next
+ * scenario of that role after a reset of everything that is not authentication:
+ *   - extra pages closed (popups, new tabs), the first page kept
+ *   - routes removed (HAR, mocks, scenario routes), permissions cleared, offline off, extra HTTP headers cleared
+ *   - cookies not present in the session file removed (auth cookies keep their current value)
+ *   - localStorage / sessionStorage of the session file's origins and base.url reset to the session file
+ *     (done on a stub page per origin, the app itself is not loaded)
+ *   - page at about:blank
+ * Not reset: IndexedDB, Cache Storage, service workers and init scripts added by a scenario. Scenarios touching
+ * those opt out with @fresh_context (own context, closed afterwards). A failed scenario's context is never reused,
+ * and a context is retired after context.recycle.max.uses scenarios. Before a kept context is reused its browser is
+ * checked (connected, no BrowserSupervisor relaunch reason); otherwise the thread's kept contexts are discarded and
+ * a new context is created, which relaunches the browser.
+ *
+ * Recycling stays off with coverage.record=true (request listener per context) and har.mode=record
+ * (Playwright writes the HAR when the context closes). Context churn and cost are reported in both modes.
+ *
+ * Config keys: context.recycle (default false), context.recycle.max.uses (default 50)
+ */
+public final class ContextRecycler {
+
+	public static final String FRESH_TAG = "@fresh_context";
+
+	private static final String RESET_PATH = "/__context_reset__";
+	private static final String RESET_STORAGE = """
+			items => {
+			  localStorage.clear();
+			  sessionStorage.clear();
+			  for (const [k, v] of Object.entries(items)) localStorage.setItem(k, v);
+			}
+			""";
+
+	/** A context owned by this thread, with the authentication state it was created from. */
+	private static final class Pooled {
+		final String key;
+		final BrowserContext context;
+		final Set<String> authCookies;
+		final Map<String, Map<String, String>> authStorage;
+		int uses = 1;
+
+		Pooled(String key, BrowserContext context, Set<String> authCookies, Map<String, Map<String, String>> authStorage) {
+			this.key = key;
+			this.context = context;
+			this.authCookies = authCookies;
+			this.authStorage = authStorage;
+		}
+	}
+
+	private static final ThreadLocal<Map<String, Pooled>> TL_POOL = ThreadLocal.withInitial(HashMap::new);
+	private static final ThreadLocal<Pooled> TL_CURRENT = new ThreadLocal<>();
+
+	private static final AtomicInteger CREATED = new AtomicInteger();
+	private static final AtomicInteger REUSED = new AtomicInteger();
+	private static final AtomicInteger FRESH = new AtomicInteger();
+	private static final AtomicLong CREATE_MS = new AtomicLong();
+	private static final AtomicLong CLOSE_MS = new AtomicLong();
+	private static final AtomicInteger CLOSED = new AtomicInteger();
+	private static final AtomicLong RESET_MS = new AtomicLong();
+	private static final AtomicInteger RESETS = new AtomicInteger();
+	private static final Map<String, AtomicInteger> RETIRED = new ConcurrentHashMap<>();
+
+	private static volatile Boolean enabled;
+
+	private ContextRecycler() {
+		// prevent instantiation
+	}
+
+	public static boolean isEnabled() throws IOException {
+		Boolean e = enabled;
+		if (e == null) {
+			e = PropertiesLoader.getBooleanPropertyCached("context.recycle", false);
+			if (e && RouteCoverage.isEnabled()) {
+				System.out.println("[ContextRecycler] off: coverage.record attaches a request listener per context");
+				e = false;
+			} else if (e && PropertiesLoader.networkModeCached() == NetworkMode.RECORD) {
+				System.out.println("[ContextRecycler] off: har.mode=record needs the context closed after each scenario");
+				e = false;
+			}
+			enabled = e;
+		}
+		return e;
+	}
+
+	/** Makes the scenario context current: a recycled one for this browser + role + session, else a new one. */
+	public static void open(String role, Path storageState, Collection<String> tags) throws IOException {
+		TL_CURRENT.remove();
+		boolean fresh = tags.contains(FRESH_TAG);
+		if (isEnabled() && !fresh) {
+			String key = BrowserManager.currentBrowserType() + "|" + role + "|" + storageState;
+			Pooled pooled = TL_POOL.get().remove(key);
+			if (pooled != null && !browserHealthy(pooled)) {
+				discardPooled(pooled);
+				discardAll(); // every kept context of this thread lives on the same browser
+				pooled = null; // createContext below relaunches the browser
+			}
+			if (pooled != null) {
+				pooled.uses++;
+				List<Page> pages = pooled.context.pages();
+				BrowserManager.adoptContext(pooled.context, pages.isEmpty() ? pooled.context.newPage() : pages.get(0));
+				TL_CURRENT.set(pooled);
+				REUSED.incrementAndGet();
+				return;
+			}
+		}
+		long start = System.currentTimeMillis();
+		BrowserManager.createContext(storageState);
+		CREATE_MS.addAndGet(System.currentTimeMillis() - start);
+		CREATED.incrementAndGet();
+		if (fresh) {
+			FRESH.incrementAndGet();
+		} else if (isEnabled()) {
+			TL_CURRENT.set(new Pooled(BrowserManager.currentBrowserType() + "|" + role + "|" + storageState,
+					BrowserManager.getContext(), authCookies(storageState), authStorage(storageState)));
+		}
+	}
+
+	/** Ends the scenario context: reset and kept for the next scenario of the role, or closed. */
+	public static void close(boolean failed) throws IOException {
+		Pooled pooled = TL_CURRENT.get();
+		TL_CURRENT.remove();
+		String retire = null;
+		if (pooled != null) {
+			retire = failed ? "failed scenario"
+					: pooled.uses >= PropertiesLoader.getIntPropertyCached("context.recycle.max.uses", 50) ? "max uses" : null;
+			if (retire == null) {
+				long start = System.currentTimeMillis();
+				try {
+					reset(pooled);
+					BrowserManager.detachContext();
+					TL_POOL.get().put(pooled.key, pooled);
+					RESET_MS.addAndGet(System.currentTimeMillis() - start);
+					RESETS.incrementAndGet();
+					return;
+				} catch (PlaywrightException e) {
+					retire = "reset failed";
+					System.out.println("[ContextRecycler] reset failed, closing context: " + e.getMessage());
+				}
+			}
+			RETIRED.computeIfAbsent(retire, r -> new AtomicInteger()).incrementAndGet();
+		}
+		long start = System.currentTimeMillis();
+		BrowserManager.closeContext();
+		CLOSE_MS.addAndGet(System.currentTimeMillis() - start);
+		CLOSED.incrementAndGet();
+	}
+
+	/** Closes this thread's kept contexts; called by BrowserManager.closePlaywright. */
+	public static void discardAll() {
+		for (Pooled pooled : TL_POOL.get().values()) {
+			discardPooled(pooled);
+		}
+		TL_POOL.remove();
+	}
+
+	public static void reportMetrics() throws IOException {
+		int opened = CREATED.get() + REUSED.get();
+		if (opened == 0) return;
+		StringBuilder sb = new StringBuilder();
+		sb.append(opened).append(" scenario context(s): ").append(CREATED.get()).append(" created (avg ")
+				.append(CREATE_MS.get() / Math.max(1, CREATED.get())).append("ms), ").append(CLOSED.get())
+				.append(" closed (avg ").append(CLOSE_MS.get() / Math.max(1, CLOSED.get())).append("ms)");
+		if (isEnabled()) {
+			sb.append(", ").append(REUSED.get()).append(" reused, ").append(RESETS.get()).append(" reset (avg ")
+					.append(RESET_MS.get() / Math.max(1, RESETS.get())).append("ms), ").append(FRESH.get()).append(' ')
+					.append(FRESH_TAG);
+			if (!RETIRED.isEmpty()) {
+				sb.append(", retired ").append(new TreeMap<>(RETIRED));
+			}
+		}
+		ExtentReportMetada.put(isEnabled() ? "Context Recycling" : "Context Churn", sb.toString());
+	}
+
+	// --------- internal ---------
+
+	/**
+	 * A kept context is only reused on the thread's current, connected browser that BrowserSupervisor does not
+	 * want relaunched (crash, page crash, recycling due); otherwise createContext has to run and relaunch it.
+	 */
+	private static boolean browserHealthy(Pooled pooled) {
+		String reason;
+		try {
+			Browser browser = pooled.context.browser();
+			reason = (browser == null || !browser.isConnected()) ? "browser disconnected"
+					: BrowserManager.relaunchReason();
+		} catch (PlaywrightException e) {
+			reason = e.getMessage();
+		}
+		if (reason == null) return true;
+		System.out.println("[ContextRecycler] not reusing kept context(s) (" + reason + ") | thread="
+				+ Thread.currentThread().getName());
+		RETIRED.computeIfAbsent("browser unhealthy", r -> new AtomicInteger()).incrementAndGet();
+		return false;
+	}
+
+	private static void discardPooled(Pooled pooled) {
+		try {
+			pooled.context.close();
+		} catch (Exception e) {
+			System.err.println("[ContextRecycler] Context close failed: " + e.getMessage());
+		}
+	}
+
+	private static void reset(Pooled pooled) throws IOException {
+		BrowserContext context = pooled.context;
+		List<Page> pages = context.pages();
+		Page page = pages.isEmpty() ? context.newPage() : pages.get(0);
+		for (Page extra : pages.subList(Math.min(1, pages.size()), pages.size())) {
+			extra.close();
+		}
+		context.unrouteAll();
+		context.clearPermissions();
+		context.setOffline(false);
+		context.setExtraHTTPHeaders(Map.of());
+
+		List<Cookie> keep = context.cookies().stream().filter(c -> pooled.authCookies.contains(cookieId(c))).toList();
+		context.clearCookies();
+		if (!keep.isEmpty()) {
+			context.addCookies(keep);
+		}
+
+		Map<String, Map<String, String>> storage = new LinkedHashMap<>(pooled.authStorage);
+		String baseOrigin = origin(PropertiesLoader.loadCached().getProperty("base.url"));
+		if (baseOrigin != null) storage.putIfAbsent(baseOrigin, Map.of());
+		for (Map.Entry<String, Map<String, String>> origin : storage.entrySet()) {
+			String url = origin.getKey() + RESET_PATH;
+			context.route(url, route -> route.fulfill(new Route.FulfillOptions()
+					.setStatus(200).setContentType("text/html").setBody("<html></html>")));
+			try {
+				page.navigate(url);
+				page.evaluate(RESET_STORAGE, origin.getValue());
+			} finally {
+				context.unroute(url);
+			}
+		}
+		page.navigate("about:blank");
+		StabilityWait.clearNavigated(); // reset navigations are not the next scenario's
+	}
+
+	private static String cookieId(Cookie c) {
+		return c.name + "|" + c.domain + "|" + c.path;
+	}
+
+	private static Set<String> authCookies(Path storageState) throws IOException {
+		Set<String> ids = new HashSet<>();
+		if (storageState == null || !Files.exists(storageState)) return ids;
+		JsonObject state = JsonParser.parseString(Files.readString(storageState, StandardCharsets.UTF_8)).getAsJsonObject();
+		if (state.has("cookies")) {
+			for (JsonElement e : state.getAsJsonArray("cookies")) {
+				JsonObject c = e.getAsJsonObject();
+				ids.add(c.get("name").getAsString() + "|" + c.get("domain").getAsString() + "|" + c.get("path").getAsString());
+			}
+		}
+		return ids;
+	}
+
+	private static Map<String, Map<String, String>> authStorage(Path storageState) throws IOException {
+		Map<String, Map<String, String>> origins = new LinkedHashMap<>();
+		if (storageState == null || !Files.exists(storageState)) return origins;
+		JsonObject state = JsonParser.parseString(Files.readString(storageState, StandardCharsets.UTF_8)).getAsJsonObject();
+		if (state.has("origins")) {
+			for (JsonElement e : state.getAsJsonArray("origins")) {
+				JsonObject o = e.getAsJsonObject();
+				Map<String, String> items = new LinkedHashMap<>();
+				if (o.has("localStorage")) {
+					for (JsonElement item : o.getAsJsonArray("localStorage")) {
+						items.put(item.getAsJsonObject().get("name").getAsString(), item.getAsJsonObject().get("value").getAsString());
+					}
+				}
+				origins.put(o.get("origin").getAsString(), items);
+			}
+		}
+		return origins;
+	}
+
+	private static String origin(String url) {
+		if (url == null || url.isBlank()) return null;
+		URI uri = URI.create(url.trim());
+		if (uri.getScheme() == null || uri.getHost() == null) return null;
+		return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() < 0 ? "" : ":" + uri.getPort());
+	}
+}
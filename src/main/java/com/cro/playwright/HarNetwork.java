@@ -0,0 +1,221 @@
+package com.cro.playwright;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.cro.extentreporting.ExtentReportMetada;
+import com.cro.settings.PathManager;
+import com.cro.settings.PropertiesLoader;
+import com.cro.settings.PropertiesLoader.NetworkMode;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.options.HarNotFound;
+import com.microsoft.playwright.options.RouteFromHarUpdateContentPolicy;
+
+/**
+ * HAR record / replay of backend traffic, one HAR per feature (har.mode = live | record | replay, per env).
+ *
+ * record: each scenario's API calls (har.url glob) are captured with routeFromHAR(update=true) into a temp HAR,
+ *         written by Playwright when the context closes, then merged into har.dir/&lt;feature&gt;.har
+ *         (first scenario of the feature in this run replaces the old file; later entries win on method+url+body).
+ * replay: the feature HAR answers matching requests while the front end itself is served from base.url
+ *         (typically a locally hosted build). A request the HAR cannot answer reaches a tracking route that
+ *         records it as missing and then either aborts it (har.match=strict) or lets it go to the network (lenient).
+ * Missing requests are logged per scenario and listed in reportDir/har-missing.txt.
+ *
+ * Config keys: har.mode (default live), har.dir (default src/test/resources/har), har.url (default **&#47;api/**),
+ *              har.match (strict | lenient, default strict)
+ */
+public final class HarNetwork {
+
+	/** State of the scenario on this thread. */
+	private static final class Session {
+		final NetworkMode mode;
+		final String feature;
+		final Path recording;
+		final List<String> missing = Collections.synchronizedList(new ArrayList<>());
+
+		Session(NetworkMode mode, String feature, Path recording) {
+			this.mode = mode;
+			this.feature = feature;
+			this.recording = recording;
+		}
+	}
+
+	private static final ThreadLocal<Session> TL_SESSION = new ThreadLocal<>();
+	private static final Map<String, Object> FEATURE_LOCKS = new ConcurrentHashMap<>();
+	private static final Set<String> RECORDED_THIS_RUN = ConcurrentHashMap.newKeySet();
+	private static final Map<String, Set<String>> MISSING = new ConcurrentHashMap<>();
+	private static final AtomicInteger SCENARIOS = new AtomicInteger();
+	private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create(); // keep bodies byte-identical
+
+	private HarNetwork() {
+		// prevent instantiation
+	}
+
+	/** Routes the scenario context through the feature HAR; no-op in live mode. */
+	public static void attach(BrowserContext context, URI featureUri) throws IOException {
+		NetworkMode mode = PropertiesLoader.networkModeCached();
+		if (mode == NetworkMode.LIVE) return;
+
+		String feature = featureName(featureUri);
+		String url = PropertiesLoader.getOptionalPropertyCached("har.url", "**/api/**");
+		SCENARIOS.incrementAndGet();
+
+		if (mode == NetworkMode.RECORD) {
+			Files.createDirectories(PathManager.cacheDir().resolve("har-tmp"));
+			Path recording = Files.createTempFile(PathManager.cacheDir().resolve("har-tmp"), feature + "-", ".har");
+			Files.delete(recording); // Playwright creates it on context close
+			context.routeFromHAR(recording, new BrowserContext.RouteFromHAROptions()
+					.setUpdate(true).setUpdateContent(RouteFromHarUpdateContentPolicy.EMBED).setUrl(url));
+			TL_SESSION.set(new Session(mode, feature, recording));
+			return;
+		}
+
+		boolean strict = !"lenient".equalsIgnoreCase(PropertiesLoader.getOptionalPropertyCached("har.match", "strict"));
+		Path har = harDir().resolve(feature + ".har");
+		Session session = new Session(mode, feature, null);
+		TL_SESSION.set(session);
+		// Registered first → consulted last: only sees what the HAR route fell back on
+		context.route(url, route -> {
+			String request = route.request().method() + " " + route.request().url();
+			session.missing.add(request);
+			MISSING.computeIfAbsent(feature, f -> ConcurrentHashMap.newKeySet()).add(request);
+			if (strict) {
+				route.abort("failed");
+			} else {
+				route.fallback();
+			}
+		});
+		if (Files.exists(har)) {
+			context.routeFromHAR(har, new BrowserContext.RouteFromHAROptions().setUrl(url).setNotFound(HarNotFound.FALLBACK));
+		} else {
+			System.out.println("[HAR] no recording for feature '" + feature + "' (" + har + "), every API call is missing");
+		}
+	}
+
+	/**
+	 * Finishes the scenario after its context is closed: merges a recording into the feature HAR,
+	 * or returns the replay misses for the scenario log (null when there is nothing to report).
+	 */
+	public static String finish() throws IOException {
+		Session session = TL_SESSION.get();
+		TL_SESSION.remove();
+		if (session == null) return null;
+
+		if (session.mode == NetworkMode.RECORD) {
+			int entries = merge(session.feature, session.recording);
+			return "HAR recorded: " + entries + " request(s) → " + harDir().resolve(session.feature + ".har");
+		}
+		synchronized (session.missing) {
+			if (session.missing.isEmpty()) return null;
+			return "HAR replay: " + session.missing.size() + " request(s) missing from " + session.feature + ".har\n"
+					+ String.join("\n", session.missing);
+		}
+	}
+
+	public static void reportMetrics() throws IOException {
+		NetworkMode mode = PropertiesLoader.networkModeCached();
+		if (mode == NetworkMode.LIVE || SCENARIOS.get() == 0) return;
+		if (mode == NetworkMode.RECORD) {
+			ExtentReportMetada.put("HAR Record", RECORDED_THIS_RUN.size() + " feature(s) recorded to " + harDir());
+			return;
+		}
+		int missing = MISSING.values().stream().mapToInt(Set::size).sum();
+		ExtentReportMetada.put("HAR Replay", SCENARIOS.get() + " scenario(s), "
+				+ PropertiesLoader.getOptionalPropertyCached("har.match", "strict") + " matching, "
+				+ missing + " distinct missing request(s)" + (missing == 0 ? "" : " (see har-missing.txt)"));
+		if (missing > 0) {
+			List<String> lines = new ArrayList<>();
+			for (Map.Entry<String, Set<String>> e : new TreeMap<>(MISSING).entrySet()) {
+				lines.add("[" + e.getKey() + ".har]");
+				lines.addAll(new TreeSet<>(e.getValue()));
+			}
+			Files.createDirectories(PathManager.reportDir());
+			Files.write(PathManager.reportDir().resolve("har-missing.txt"), lines, StandardCharsets.UTF_8);
+		}
+	}
+
+	// --------- internal ---------
+
+	private static Path harDir() throws IOException {
+		Path dir = Paths.get(PropertiesLoader.getOptionalPropertyCached("har.dir", "src/test/resources/har"));
+		return dir.isAbsolute() ? dir : PathManager.baseDirPath().resolve(dir);
+	}
+
+	/** Feature file name without extension (file:src/test/resources/features/login.feature → login). */
+	private static String featureName(URI featureUri) {
+		String path = featureUri.isOpaque() ? featureUri.getSchemeSpecificPart() : featureUri.getPath();
+		String file = path.substring(path.lastIndexOf('/') + 1);
+		return file.endsWith(".feature") ? file.substring(0, file.length() - ".feature".length()) : file;
+	}
+
+	/** Merges one scenario recording into the feature HAR; returns the number of recorded entries. */
+	private static int merge(String feature, Path recording) throws IOException {
+		if (!Files.exists(recording)) return 0; // no matching traffic, or the context was never closed
+		try {
+			JsonObject recorded = read(recording);
+			JsonArray entries = recorded.getAsJsonObject("log").getAsJsonArray("entries");
+			Path har = harDir().resolve(feature + ".har");
+			synchronized (FEATURE_LOCKS.computeIfAbsent(feature, f -> new Object())) {
+				Files.createDirectories(har.getParent());
+				JsonObject target = (RECORDED_THIS_RUN.add(feature) || !Files.exists(har)) ? recorded : read(har);
+				if (target != recorded) {
+					Map<String, JsonElement> byRequest = new LinkedHashMap<>();
+					for (JsonElement e : target.getAsJsonObject("log").getAsJsonArray("entries")) {
+						byRequest.put(key(e.getAsJsonObject()), e);
+					}
+					for (JsonElement e : entries) {
+						byRequest.put(key(e.getAsJsonObject()), e); // this run's response wins
+					}
+					JsonArray merged = new JsonArray();
+					byRequest.values().forEach(merged::add);
+					target.getAsJsonObject("log").add("entries", merged);
+				}
+				Path tmp = Files.createTempFile(har.getParent(), feature + "-", ".tmp");
+				try (Writer out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+					GSON.toJson(target, out);
+				}
+				Files.move(tmp, har, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			return entries.size();
+		} finally {
+			Files.deleteIfExists(recording);
+		}
+	}
+
+	private static JsonObject read(Path file) throws IOException {
+		try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			return JsonParser.parseReader(in).getAsJsonObject();
+		}
+	}
+
+	private static String key(JsonObject entry) {
+		JsonObject request = entry.getAsJsonObject("request");
+		JsonObject body = request.getAsJsonObject("postData");
+		return request.get("method").getAsString() + " " + request.get("url").getAsString()
+				+ (body != null && body.has("text") ? " " + body.get("text").getAsString() : "");
+	}
+}
@@ -0,0 +1,53 @@
+package com.cro.playwright;
+
+import java.util.List;
+import java.util.Locale;
+
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+
+/**
+ * How a configured browser name is launched: engine + launch options.
+ * Shared by the per-thread launch and the browser server so both modes start the same browser.
+ */
+record LaunchSpec(String engine, String channel, boolean headless, List<String> args) {
+
+	static LaunchSpec of(String browserType) {
+		switch (browserType.toLowerCase(Locale.ROOT)) {
+			case "chrome":
+				return new LaunchSpec("chromium", "chrome", false, List.of("--start-maximized"));
+			case "edge":
+			case "msedge":
+				return new LaunchSpec("chromium", "msedge", false, List.of("--start-maximized"));
+			case "firefox":
+				return new LaunchSpec("firefox", null, false, List.of());
+			case "safari":
+			case "webkit":
+				return new LaunchSpec("webkit", null, false, List.of());
+			default:
+				throw new IllegalArgumentException("Unsupported browser: " + browserType);
+		}
+	}
+
+	BrowserType browserType(Playwright playwright) {
+		switch (engine) {
+			case "firefox":
+				return playwright.firefox();
+			case "webkit":
+				return playwright.webkit();
+			default:
+				return playwright.chromium();
+		}
+	}
+
+	BrowserType.LaunchOptions toLaunchOptions() {
+		BrowserType.LaunchOptions options = new BrowserType.LaunchOptions().setHeadless(headless);
+		if (channel != null) {
+			options.setChannel(channel);
+		}
+		if (!args.isEmpty()) {
+			options.setArgs(args);
+		}
+		return options;
+	}
+}
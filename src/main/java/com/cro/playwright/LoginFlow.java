@@ -5,7 +5,12 @@ This is where your role + session JSON logic belongs.
 */
 package com.cro.playwright;
  
+import java.io.IOException;
+ 
 import com.cro.pages.LoginPage;
+import com.cro.settings.PathManager;
+import com.cro.settings.PropertiesLoader;
+import com.microsoft.playwright.BrowserContext;
  
 public class LoginFlow {
  
@@ -23,4 +28,29 @@ public class LoginFlow {
     	    );
         loginPage.login(user, password);
     }
+ 
+    /**
+     * Logs in within a short-lived context of this thread's browser and persists the storage state
+     * as sessionDir/role_user.json (the file SessionManager waits for).
+     */
+    public void createSession(String role, String user, String password) {
+        BrowserManager.createContext();
+        try {
+            BrowserManager.getPage().navigate(
+                    PropertiesLoader.loadCached().getProperty("base.url")
+            );
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        performLogin(role, user, password);
+ 
+        // Persist storage state
+        BrowserManager.getContext().storageState(
+            new BrowserContext.StorageStateOptions()
+                .setPath(PathManager.sessionDir()
+                    .resolve(role + "_" + user + ".json"))
+        );
+ 
+        BrowserManager.closeContext();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.cro.playwright;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.cro.extentreporting.ExtentReportMetada;
+import com.cro.features.FeatureIndex;
+import com.cro.features.PickleInfo;
+import com.cro.pages.LoginPage;
+import com.cro.settings.PropertiesLoader;
+import com.cro.utils.UIActions;
+
+/**
+ * Logs in every role of the run concurrently at suite start, so no scenario absorbs login latency
+ * (and none waits behind another role's login in SessionManager).
+ *
+ * Roles come from the selected pickles (FeatureIndex): the runner's feature paths, filtered by the tag expression
+ * (cucumber.filter.tags), resolved exactly like RoleResolver does at runtime (-Drole wins over @role_* tags).
+ * Each role+user logs in on its own short-lived thread with its own Playwright/browser and context, through the
+ * same SessionManager path as scenarios, so the session store, locking and session files behave identically.
+ * A failed pre-login is only logged: the first scenario of that role retries the login lazily as before.
+ *
+ * Opt-in: every role costs an extra Playwright driver + browser before the first scenario starts. Even when enabled
+ * it is skipped for a single role with dp.threads=1, where the lazy login on the worker's own browser is cheaper.
+ *
+ * Config keys: prelogin.enabled (default false), prelogin.threads (default dp.threads)
+ */
+public final class PreLogin {
+
+	private PreLogin() {
+		// prevent instantiation
+	}
+
+	/**
+	 * @param featurePaths  runner feature paths (directories or .feature files; classpath: paths are skipped)
+	 * @param tagExpression Cucumber tag expression, blank = all pickles
+	 */
+	public static void run(List<String> featurePaths, String tagExpression) throws IOException {
+		if (!PropertiesLoader.getBooleanPropertyCached("prelogin.enabled", false)) return;
+
+		Set<String> roles = discoverRoles(featurePaths, tagExpression);
+		if (roles.isEmpty()) {
+			System.out.println("[PreLogin] no @role_* tags in selected scenarios, nothing to do");
+			return;
+		}
+		int workers = Integer.parseInt(System.getProperty("dp.threads", "1"));
+		if (roles.size() == 1 && workers <= 1) {
+			System.out.println("[PreLogin] skipped: one role " + roles + " and dp.threads=1, the first scenario logs in");
+			return;
+		}
+		String browser = BrowserMatrix.currentBrowser(); // storage state does not depend on the browser
+		int threads = Math.max(1, Math.min(roles.size(), PropertiesLoader.getIntPropertyCached("prelogin.threads", workers)));
+
+		long start = System.currentTimeMillis();
+		AtomicInteger n = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(threads, r -> new Thread(r, "prelogin-" + n.incrementAndGet()));
+		List<Future<?>> logins = new ArrayList<>();
+		for (String role : roles) {
+			logins.add(pool.submit(() -> {
+				login(browser, role);
+				return null;
+			}));
+		}
+		pool.shutdown();
+
+		List<String> failed = new ArrayList<>();
+		int i = 0;
+		for (String role : roles) {
+			try {
+				logins.get(i++).get();
+			} catch (Exception e) {
+				Throwable cause = (e.getCause() != null) ? e.getCause() : e;
+				failed.add(role);
+				System.out.println("[PreLogin] " + role + " failed, first scenario will log in instead: " + cause.getMessage());
+			}
+		}
+		long took = System.currentTimeMillis() - start;
+		System.out.println("[PreLogin] " + (roles.size() - failed.size()) + "/" + roles.size() + " role(s) " + roles
+				+ " ready in " + took + "ms on " + threads + " thread(s)");
+		ExtentReportMetada.put("Pre-login", (roles.size() - failed.size()) + "/" + roles.size() + " role(s) in " + took + "ms"
+				+ (failed.isEmpty() ? "" : ", failed: " + String.join(", ", failed)));
+	}
+
+	/** Distinct roles of the pickles selected by the feature paths + tag expression. */
+	public static Set<String> discoverRoles(List<String> featurePaths, String tagExpression) {
+		Set<String> roles = new TreeSet<>();
+		for (PickleInfo pickle : FeatureIndex.load(featurePaths).select(tagExpression)) {
+			try {
+				roles.add(RoleResolver.resolve(pickle.tags()));
+			} catch (IllegalStateException e) {
+				// no role for this pickle → it fails in ScenarioHooks.before with the usual message
+			}
+		}
+		return roles;
+	}
+
+	// --------- internal ---------
+
+	private static void login(String browser, String role) throws IOException {
+		String username = PropertiesLoader.getUsernameForRole(role);
+		String password = PropertiesLoader.getPasswordForRole(role);
+		LoginFlow flow = new LoginFlow(new LoginPage(new UIActions(new PageProvider()))); // what Pico builds per scenario
+		try {
+			BrowserManager.initBrowser(browser);
+			SessionManager.getOrCreateSession(role, username, () -> flow.createSession(role, username, password));
+		} finally {
+			BrowserManager.closeContext();
+			BrowserManager.closePlaywright(); // pool thread: its browser is not kept after pre-login
+		}
+	}
+}
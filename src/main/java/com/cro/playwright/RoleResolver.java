@@ -1,5 +1,7 @@
 package com.cro.playwright;
  
+import java.util.Collection;
+ 
 import io.cucumber.java.Scenario;
  
 public final class RoleResolver {
@@ -9,6 +11,11 @@ public final class RoleResolver {
     private RoleResolver() {}
  
     public static String resolve(Scenario scenario) {
+        return resolve(scenario.getSourceTagNames());
+    }
+ 
+    // Same rules for tags known before the scenario runs (pre-login at suite start)
+    public static String resolve(Collection<String> tags) {
  
         // 1️⃣ CLI override, always prefix with @role_ from CLI
         String cliRole = System.getProperty("role");
@@ -17,7 +24,7 @@ public final class RoleResolver {
         }
  
         // 2️⃣ Scenario tag
-        return scenario.getSourceTagNames().stream()
+        return tags.stream()
                 .filter(t -> t.startsWith(ROLE_PREFIX))
                 .map(t -> t.replace(ROLE_PREFIX, ""))
                 .findFirst()
@@ -4,7 +4,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
  
+import com.cro.jfr.SessionAcquireEvent;
 import com.cro.settings.PathManager;
  
 /**
@@ -32,6 +34,23 @@ public final class SessionManager {
      * @return Path to session JSON file
      */
     public static Path getOrCreateSession(String role, String username, Runnable loginFlow) {
+        SessionAcquireEvent event = new SessionAcquireEvent();
+        event.begin();
+        AtomicBoolean loggedIn = new AtomicBoolean(false);
+        try {
+            return acquire(role, username, () -> {
+                loggedIn.set(true);
+                loginFlow.run();
+            });
+        } finally {
+            event.finish(() -> {
+                event.role = role;
+                event.reused = !loggedIn.get();
+            });
+        }
+    }
+ 
+    private static Path acquire(String role, String username, Runnable loginFlow) {
         String key = role + "_" + username;
         Path sessionFile = PathManager.sessionDir().resolve(key + ".json");
  
@@ -45,9 +64,11 @@ public final class SessionManager {
         long startTime = System.currentTimeMillis();
         synchronized (lock) {
             try {
-                if (!Files.exists(sessionFile)) {
+                // Cross-run store (session.persist=true): reuse a still-valid login from an earlier run
+                if (!Files.exists(sessionFile) && !SessionStore.restore(role, username, sessionFile)) {
                     // Run loginFlow in current thread (ThreadLocal safe)
                     loginFlow.run();
+                    SessionStore.save(role, username, sessionFile);
  
                     // Timeout check
                     if (!Files.exists(sessionFile)
@@ -0,0 +1,183 @@
+package com.cro.playwright;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.cro.extentreporting.ExtentReportMetada;
+import com.cro.settings.PathManager;
+import com.cro.settings.PropertiesLoader;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Persistent storage-state store (-Dsession.persist=true), so CI runs reuse logins across builds.
+ *
+ * Entries live in cacheDir/sessions/&lt;env&gt;/&lt;role&gt;_&lt;user&gt;.json (the per-run session.dir still gets a copy,
+ * so contexts load exactly as before). Before an entry is reused it must be
+ *   - unexpired: every cookie with an expiry is valid for at least session.expiry.margin.s more seconds
+ *   - accepted: if session.probe.url is set, a GET with the entry's cookies answers 2xx (redirects are NOT
+ *     followed, so a bounce to the login page counts as rejected)
+ * Anything else falls back to the normal login, whose fresh state replaces the entry.
+ *
+ * Config keys: session.persist (default false), session.expiry.margin.s (default 300),
+ *              session.probe.url (absolute or relative to base.url, default none), session.probe.timeout.ms (default 3000)
+ */
+public final class SessionStore {
+
+	private static final AtomicInteger REUSED = new AtomicInteger();
+	private static final AtomicInteger REFRESHED = new AtomicInteger();
+	private static final AtomicInteger CREATED = new AtomicInteger();
+	private static final List<String> REFRESH_REASONS = new ArrayList<>();
+
+	private SessionStore() {
+		// prevent instantiation
+	}
+
+	public static boolean isEnabled() throws IOException {
+		return PropertiesLoader.getBooleanPropertyCached("session.persist", false);
+	}
+
+	/**
+	 * Copies a valid stored entry to the run's session file.
+	 *
+	 * @return true when the stored session was reused, false when a login is needed
+	 */
+	public static boolean restore(String role, String username, Path sessionFile) {
+		try {
+			if (!isEnabled()) return false;
+			Path entry = entry(role, username);
+			if (!Files.exists(entry)) {
+				CREATED.incrementAndGet();
+				return false;
+			}
+			JsonObject state = JsonParser.parseString(Files.readString(entry, StandardCharsets.UTF_8)).getAsJsonObject();
+			String invalid = expired(state);
+			if (invalid == null) invalid = probe(state);
+			if (invalid != null) {
+				REFRESHED.incrementAndGet();
+				synchronized (REFRESH_REASONS) {
+					REFRESH_REASONS.add(role + ": " + invalid);
+				}
+				System.out.println("[SessionStore] " + role + "_" + username + " refresh → " + invalid);
+				return false;
+			}
+			Files.createDirectories(sessionFile.getParent());
+			Files.copy(entry, sessionFile, StandardCopyOption.REPLACE_EXISTING);
+			REUSED.incrementAndGet();
+			System.out.println("[SessionStore] " + role + "_" + username + " reused from " + entry);
+			return true;
+		} catch (IOException | RuntimeException e) {
+			// unreadable / corrupt entry → treat like a missing one
+			REFRESHED.incrementAndGet();
+			System.out.println("[SessionStore] " + role + "_" + username + " unusable entry, logging in: " + e.getMessage());
+			return false;
+		}
+	}
+
+	/** Stores the run's freshly created session file (atomic replace, owner-only where POSIX). */
+	public static void save(String role, String username, Path sessionFile) {
+		try {
+			if (!isEnabled() || !Files.exists(sessionFile)) return;
+			Path entry = entry(role, username);
+			Files.createDirectories(entry.getParent());
+			Path tmp = Files.createTempFile(entry.getParent(), entry.getFileName().toString(), ".tmp");
+			Files.copy(sessionFile, tmp, StandardCopyOption.REPLACE_EXISTING);
+			try {
+				Files.setPosixFilePermissions(tmp, PosixFilePermissions.fromString("rw-------"));
+			} catch (UnsupportedOperationException e) {
+				// not a POSIX file system
+			}
+			Files.move(tmp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			System.out.println("[SessionStore] could not persist " + role + "_" + username + ": " + e.getMessage());
+		}
+	}
+
+	public static void reportMetrics() throws IOException {
+		if (!isEnabled()) return;
+		String reasons;
+		synchronized (REFRESH_REASONS) {
+			reasons = REFRESH_REASONS.isEmpty() ? "" : " (" + String.join("; ", REFRESH_REASONS) + ")";
+		}
+		ExtentReportMetada.put("Session Store", REUSED.get() + " reused, " + REFRESHED.get() + " refreshed, "
+				+ CREATED.get() + " new" + reasons);
+	}
+
+	// --------- internal ---------
+
+	private static Path entry(String role, String username) throws IOException {
+		return PathManager.cacheDir().resolve("sessions").resolve(PropertiesLoader.effectiveEnv())
+				.resolve(role + "_" + username + ".json");
+	}
+
+	/** Null when all expiring cookies outlive the margin, otherwise the first expired cookie. */
+	private static String expired(JsonObject state) throws IOException {
+		JsonArray cookies = state.has("cookies") ? state.getAsJsonArray("cookies") : new JsonArray();
+		double limit = System.currentTimeMillis() / 1000.0 + PropertiesLoader.getIntPropertyCached("session.expiry.margin.s", 300);
+		for (JsonElement c : cookies) {
+			JsonObject cookie = c.getAsJsonObject();
+			double expires = cookie.has("expires") ? cookie.get("expires").getAsDouble() : -1;
+			if (expires > 0 && expires < limit) { // -1 = browser-session cookie, no expiry
+				return "cookie '" + cookie.get("name").getAsString() + "' expired";
+			}
+		}
+		return null;
+	}
+
+	/** Null when no probe is configured or the application accepts the cookies, otherwise the reason. */
+	private static String probe(JsonObject state) throws IOException {
+		String probeUrl = PropertiesLoader.getOptionalPropertyCached("session.probe.url", "").trim();
+		if (probeUrl.isEmpty()) return null;
+		URI uri = URI.create(PropertiesLoader.getRequiredPropertyCached("base.url").trim()).resolve(probeUrl);
+		Duration timeout = Duration.ofMillis(PropertiesLoader.getIntPropertyCached("session.probe.timeout.ms", 3000));
+
+		HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(timeout).GET();
+		String cookieHeader = cookieHeader(state, uri);
+		if (!cookieHeader.isEmpty()) request.header("Cookie", cookieHeader);
+		HttpClient client = HttpClient.newBuilder().connectTimeout(timeout).followRedirects(HttpClient.Redirect.NEVER).build();
+		try {
+			int status = client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+			return (status >= 200 && status < 300) ? null : "probe " + uri.getPath() + " answered HTTP " + status;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return "probe interrupted";
+		} catch (IOException e) {
+			return "probe failed: " + e.getClass().getSimpleName();
+		}
+	}
+
+	/** Cookies of the storage state that a browser would send to the given URL (domain + path match). */
+	private static String cookieHeader(JsonObject state, URI uri) {
+		if (!state.has("cookies")) return "";
+		String host = (uri.getHost() == null) ? "" : uri.getHost().toLowerCase(Locale.ROOT);
+		String path = (uri.getPath() == null || uri.getPath().isEmpty()) ? "/" : uri.getPath();
+		StringBuilder header = new StringBuilder();
+		for (JsonElement c : state.getAsJsonArray("cookies")) {
+			JsonObject cookie = c.getAsJsonObject();
+			String domain = cookie.get("domain").getAsString().toLowerCase(Locale.ROOT);
+			String bare = domain.startsWith(".") ? domain.substring(1) : domain;
+			boolean domainMatch = host.equals(bare) || host.endsWith("." + bare);
+			boolean pathMatch = !cookie.has("path") || path.startsWith(cookie.get("path").getAsString());
+			if (domainMatch && pathMatch) {
+				header.append(header.length() == 0 ? "" : "; ")
+						.append(cookie.get("name").getAsString()).append('=').append(cookie.get("value").getAsString());
+			}
+		}
+		return header.toString();
+	}
+}
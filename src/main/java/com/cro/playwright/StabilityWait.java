@@ -0,0 +1,240 @@
+package com.cro.playwright;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.cro.extentreporting.ExtentReportMetada;
+import com.cro.settings.PropertiesLoader;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.TimeoutError;
+import com.microsoft.playwright.options.LoadState;
+
+/**
+ * Waits until the page is actually settled instead of a worst-case timeout.
+ *
+ * An init script (every page and frame of the scenario context) counts in-flight fetch/XHR calls and records the
+ * time of the last DOM mutation (MutationObserver) and the last request start/end. The page is stable when the
+ * document has loaded, no request is in flight, the DOM has been quiet for stability.dom.quiet.ms and the network
+ * for stability.network.quiet.ms. The check runs inside the browser (waitForFunction), so a wait ends within one
+ * polling interval of the page settling.
+ *
+ * UIActions.waitForStable() waits explicitly and fails with a TimeoutError naming what was still busy.
+ * With stability.settle.navigation=true, after any main-frame navigation (page.navigate, a click that navigates,
+ * SPA history changes) the next UIActions call also settles, best effort, within the shorter
+ * stability.settle.timeout.ms (a timeout is logged, not thrown): opt-in, because a page that is never quiet
+ * (polling, animated attributes) would pay that budget on every navigation. Time spent is reported per step.
+ *
+ * Config keys: stability.wait (default true), stability.settle.navigation (default false),
+ *              stability.settle.timeout.ms (default 2000), stability.dom.quiet.ms (default 300),
+ *              stability.network.quiet.ms (default 500), stability.timeout.ms (default 10000),
+ *              stability.ignore.url (regex of requests not counted, e.g. analytics)
+ */
+public final class StabilityWait {
+
+	private static final int POLLING_MS = 50;
+
+	private static final String INIT_SCRIPT = """
+			(ignore => {
+			  if (window.__croStability) return;
+			  const s = { pending: 0, lastMutation: performance.now(), lastNetwork: performance.now() };
+			  const re = ignore ? new RegExp(ignore) : null;
+			  const tracked = url => !(re && re.test(String(url)));
+			  const start = () => { s.pending++; s.lastNetwork = performance.now(); };
+			  const end = () => { s.pending = Math.max(0, s.pending - 1); s.lastNetwork = performance.now(); };
+			  const fetch = window.fetch;
+			  if (fetch) {
+			    window.fetch = function (input, init) {
+			      if (!tracked(input && input.url ? input.url : input)) return fetch.apply(this, arguments);
+			      start();
+			      try {
+			        return fetch.apply(this, arguments).finally(end);
+			      } catch (e) { end(); throw e; }
+			    };
+			  }
+			  const open = XMLHttpRequest.prototype.open, send = XMLHttpRequest.prototype.send;
+			  XMLHttpRequest.prototype.open = function (method, url) {
+			    this.__croTracked = tracked(url);
+			    return open.apply(this, arguments);
+			  };
+			  XMLHttpRequest.prototype.send = function () {
+			    if (this.__croTracked) {
+			      start();
+			      this.addEventListener('loadend', end, { once: true });
+			    }
+			    try { return send.apply(this, arguments); } catch (e) { if (this.__croTracked) end(); throw e; }
+			  };
+			  new MutationObserver(() => { s.lastMutation = performance.now(); })
+			    .observe(document, { subtree: true, childList: true, attributes: true, characterData: true });
+			  window.__croStability = s;
+			})(%s);
+			""";
+
+	private static final String STABLE = """
+			q => {
+			  const s = window.__croStability;
+			  if (document.readyState === 'loading') return false;
+			  if (!s) return true;
+			  const now = performance.now();
+			  return s.pending === 0 && now - s.lastMutation >= q.dom && now - s.lastNetwork >= q.network;
+			}
+			""";
+
+	private static final String STATE = """
+			() => {
+			  const s = window.__croStability;
+			  const now = performance.now();
+			  return s ? 'readyState=' + document.readyState + ', in-flight requests=' + s.pending
+			      + ', last DOM mutation ' + Math.round(now - s.lastMutation) + 'ms ago'
+			      + ', last request activity ' + Math.round(now - s.lastNetwork) + 'ms ago'
+			    : 'readyState=' + document.readyState + ', wait engine not installed';
+			}
+			""";
+
+	// Playwright dispatches page events on the thread that drives the page → plain per-thread flags
+	private static final ThreadLocal<Boolean> TL_NAVIGATED = new ThreadLocal<>();
+	private static final ThreadLocal<long[]> TL_STEP = new ThreadLocal<>(); // [waits, ms] since the last takeStepWaits
+
+	private static final AtomicInteger WAITS = new AtomicInteger();
+	private static final AtomicInteger TIMEOUTS = new AtomicInteger();
+	private static final AtomicLong WAIT_MS = new AtomicLong();
+	private static final AtomicLong MAX_MS = new AtomicLong();
+
+	private StabilityWait() {
+		// prevent instantiation
+	}
+
+	public static boolean isEnabled() throws IOException {
+		return PropertiesLoader.getBooleanPropertyCached("stability.wait", true);
+	}
+
+	/** Installs the wait engine on every page of the context; called by BrowserManager.createContext. */
+	public static void attach(BrowserContext context) {
+		try {
+			if (!isEnabled()) return;
+			String ignore = PropertiesLoader.getOptionalPropertyCached("stability.ignore.url", "");
+			context.addInitScript(INIT_SCRIPT.formatted(ignore.isBlank() ? "null" : jsString(ignore)));
+			if (PropertiesLoader.getBooleanPropertyCached("stability.settle.navigation", false)) {
+				context.onPage(page -> page.onFrameNavigated(frame -> {
+					if (frame.parentFrame() == null) TL_NAVIGATED.set(Boolean.TRUE);
+				}));
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to read stability settings", e);
+		}
+	}
+
+	/** Waits until the page is stable; throws a TimeoutError describing what was still busy. */
+	public static void waitForStable(Page page) {
+		TL_NAVIGATED.remove();
+		long timeout = timeoutMs("stability.timeout.ms", 10_000);
+		if (!await(page, timeout)) {
+			throw new TimeoutError("Page not stable after " + timeout + "ms: " + state(page));
+		}
+	}
+
+	/** Settles after a main-frame navigation since the last wait; best effort, a timeout is only logged. */
+	public static void settleIfNavigated(Page page) {
+		if (TL_NAVIGATED.get() == null) return;
+		TL_NAVIGATED.remove();
+		long timeout = timeoutMs("stability.settle.timeout.ms", 2_000);
+		if (!await(page, timeout)) {
+			System.out.println("[Stability] not settled after navigation within " + timeout + "ms (" + state(page)
+					+ ") | url=" + page.url() + " | thread=" + Thread.currentThread().getName());
+		}
+	}
+
+	/** Forgets navigations that need no settle (e.g. ContextRecycler's reset to about:blank). */
+	static void clearNavigated() {
+		TL_NAVIGATED.remove();
+	}
+
+	/** "Stability wait: 2 wait(s), 740ms" for the step just finished, or null; resets the step counters. */
+	public static String takeStepWaits() {
+		long[] step = TL_STEP.get();
+		TL_STEP.remove();
+		return (step == null) ? null : "Stability wait: " + step[0] + " wait(s), " + step[1] + "ms";
+	}
+
+	public static void reportMetrics() {
+		if (WAITS.get() == 0) return;
+		ExtentReportMetada.put("Stability Waits", WAITS.get() + " wait(s), total=" + WAIT_MS.get() + "ms, avg="
+				+ (WAIT_MS.get() / WAITS.get()) + "ms, max=" + MAX_MS.get() + "ms, timeouts=" + TIMEOUTS.get());
+	}
+
+	// --------- internal ---------
+
+	/** True when the page became stable in time; engine disabled → Playwright's network-idle load state. */
+	private static boolean await(Page page, long timeout) {
+		long start = System.currentTimeMillis();
+		boolean stable = false;
+		try {
+			if (!isEnabled()) {
+				page.waitForLoadState(LoadState.NETWORKIDLE, new Page.WaitForLoadStateOptions().setTimeout(timeout));
+				stable = true;
+				return true;
+			}
+			Map<String, Integer> quiet = Map.of(
+					"dom", PropertiesLoader.getIntPropertyCached("stability.dom.quiet.ms", 300),
+					"network", PropertiesLoader.getIntPropertyCached("stability.network.quiet.ms", 500));
+			while (true) {
+				long remaining = timeout - (System.currentTimeMillis() - start);
+				if (remaining <= 0) return false;
+				try {
+					page.waitForFunction(STABLE, quiet, new Page.WaitForFunctionOptions()
+							.setTimeout(remaining).setPollingInterval(POLLING_MS));
+					stable = true;
+					return true;
+				} catch (TimeoutError e) {
+					return false;
+				} catch (PlaywrightException e) {
+					// a navigation replaced the document under the check → check the new document
+					if (!String.valueOf(e.getMessage()).contains("Execution context was destroyed")) throw e;
+				}
+			}
+		} catch (TimeoutError e) {
+			return false;
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to read stability settings", e);
+		} finally {
+			record(System.currentTimeMillis() - start, stable);
+		}
+	}
+
+	private static void record(long ms, boolean stable) {
+		WAITS.incrementAndGet();
+		WAIT_MS.addAndGet(ms);
+		MAX_MS.accumulateAndGet(ms, Math::max);
+		if (!stable) TIMEOUTS.incrementAndGet();
+		long[] step = TL_STEP.get();
+		if (step == null) {
+			step = new long[2];
+			TL_STEP.set(step);
+		}
+		step[0]++;
+		step[1] += ms;
+	}
+
+	private static String state(Page page) {
+		try {
+			return String.valueOf(page.evaluate(STATE));
+		} catch (PlaywrightException e) {
+			return "state unavailable: " + e.getMessage();
+		}
+	}
+
+	private static long timeoutMs(String key, int defaultMs) {
+		try {
+			return PropertiesLoader.getIntPropertyCached(key, defaultMs);
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to read " + key, e);
+		}
+	}
+
+	private static String jsString(String value) {
+		return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+	}
+}
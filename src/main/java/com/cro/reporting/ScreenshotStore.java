@@ -0,0 +1,224 @@
+package com.cro.reporting;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import com.cro.extentreporting.ExtentReportMetada;
+import com.cro.settings.PathManager;
+import com.cro.settings.PropertiesLoader;
+import com.microsoft.playwright.Page;
+
+/**
+ * Content-addressed screenshot store: every screenshot is hashed (SHA-256 of the PNG Playwright returns) and each
+ * distinct image is written once to screenshotDir/cas/&lt;2 hex&gt;/&lt;hash&gt;.&lt;ext&gt;, plus a JPEG thumbnail.
+ * Repeated captures of an unchanged page (typical with screenshot.mode=ALL) only cost the hash; reports link to
+ * the shared file instead of embedding another copy. Files already on disk from earlier runs are reused too.
+ *
+ * screenshot.format is any ImageIO format: png keeps Playwright's bytes as-is, jpeg re-encodes at
+ * screenshot.quality; webp needs an ImageIO WebP plugin on the classpath and otherwise falls back to png.
+ *
+ * Config keys: screenshot.mode (off | failed (or failure) | all, default failed), screenshot.format (default png),
+ *              screenshot.quality (0-100, default 80), screenshot.thumbnail.width (px, 0 = none, default 320),
+ *              screenshot.rel.path (link prefix from the report HTML, default ../screenshots/)
+ */
+public final class ScreenshotStore {
+
+	public enum Mode { OFF, FAILED, ALL }
+
+	/** One capture: shared image + optional thumbnail, relative to screenshotDir. */
+	public record Shot(String hash, String image, String thumbnail, boolean duplicate) { }
+
+	private static final Map<String, Shot> STORED = new ConcurrentHashMap<>();
+	private static final AtomicInteger CAPTURED = new AtomicInteger();
+	private static final AtomicInteger DUPLICATES = new AtomicInteger();
+	private static final AtomicLong RAW_BYTES = new AtomicLong();
+	private static final AtomicLong WRITTEN_BYTES = new AtomicLong();
+	private static volatile String format;
+	private static volatile Mode mode;
+
+	private ScreenshotStore() {
+		// prevent instantiation
+	}
+
+	/** Resolved once; FAILURE (the value of the shipped configs) means FAILED, an unknown value falls back to FAILED. */
+	public static Mode mode() {
+		Mode m = mode;
+		if (m == null) {
+			String value = null;
+			try {
+				value = PropertiesLoader.getOptionalPropertyCached("screenshot.mode", "failed").trim().toUpperCase(Locale.ROOT);
+				m = "FAILURE".equals(value) ? Mode.FAILED : Mode.valueOf(value);
+			} catch (IOException | IllegalArgumentException e) {
+				System.out.println("[ScreenshotStore] invalid screenshot.mode '" + value + "' (off | failed | all), using failed");
+				m = Mode.FAILED;
+			}
+			mode = m;
+		}
+		return m;
+	}
+
+	/** Full-viewport screenshot of the page, stored once per distinct image. */
+	public static Shot capture(Page page) throws IOException {
+		return store(page.screenshot());
+	}
+
+	public static Shot store(byte[] png) throws IOException {
+		String hash = sha256(png);
+		CAPTURED.incrementAndGet();
+		RAW_BYTES.addAndGet(png.length);
+		boolean[] created = { false };
+		Shot shot;
+		try {
+			shot = STORED.computeIfAbsent(hash, h -> {
+				created[0] = true;
+				try {
+					return write(h, png);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		if (created[0]) return shot;
+		DUPLICATES.incrementAndGet();
+		return new Shot(shot.hash(), shot.image(), shot.thumbnail(), true);
+	}
+
+	/** HTML for the scenario log: thumbnail (or the image itself) linking to the shared full-size file. */
+	public static String html(Shot shot, String label) throws IOException {
+		String rel = PropertiesLoader.getOptionalPropertyCached("screenshot.rel.path", "../screenshots/");
+		String prefix = rel.endsWith("/") ? rel : rel + "/";
+		String thumb = prefix + (shot.thumbnail() != null ? shot.thumbnail() : shot.image());
+		return label + (shot.duplicate() ? " (unchanged)" : "") + "<br><a href=\"" + prefix + shot.image()
+				+ "\" target=\"_blank\"><img src=\"" + thumb + "\" style=\"max-width:320px\" alt=\"" + shot.hash() + "\"></a>";
+	}
+
+	public static void reportMetrics() {
+		int captured = CAPTURED.get();
+		if (captured == 0) return;
+		long raw = RAW_BYTES.get();
+		long written = WRITTEN_BYTES.get();
+		ExtentReportMetada.put("Screenshots", captured + " captured, " + (captured - DUPLICATES.get()) + " unique ("
+				+ (100 * DUPLICATES.get() / captured) + "% duplicates), " + kb(written) + " written for " + kb(raw)
+				+ " captured, " + kb(Math.max(0, raw - written)) + " saved");
+	}
+
+	// --------- internal ---------
+
+	private static Shot write(String hash, byte[] png) throws IOException {
+		String ext = format();
+		Path base = PathManager.screenshotDir();
+		String shard = "cas/" + hash.substring(0, 2) + "/";
+		String image = shard + hash + "." + ext;
+		Path imageFile = base.resolve(image);
+		int thumbWidth = PropertiesLoader.getIntPropertyCached("screenshot.thumbnail.width", 320);
+		String thumbnail = (thumbWidth > 0) ? shard + hash + "_thumb.jpg" : null;
+
+		if (Files.exists(imageFile) && (thumbnail == null || Files.exists(base.resolve(thumbnail)))) {
+			return new Shot(hash, image, thumbnail, false); // written by an earlier run
+		}
+		Files.createDirectories(imageFile.getParent());
+		BufferedImage decoded = ("png".equals(ext) && thumbnail == null) ? null : ImageIO.read(new ByteArrayInputStream(png));
+		byte[] encoded = "png".equals(ext) ? png : encode(decoded, ext);
+		atomicWrite(imageFile, encoded);
+		if (thumbnail != null) {
+			atomicWrite(base.resolve(thumbnail), encode(scale(decoded, thumbWidth), "jpeg"));
+		}
+		return new Shot(hash, image, thumbnail, false);
+	}
+
+	private static String format() throws IOException {
+		String f = format;
+		if (f == null) {
+			f = PropertiesLoader.getOptionalPropertyCached("screenshot.format", "png").trim().toLowerCase(Locale.ROOT);
+			if ("jpg".equals(f)) f = "jpeg";
+			if (!ImageIO.getImageWritersByFormatName(f).hasNext()) {
+				System.out.println("[Screenshots] no ImageIO writer for '" + f + "', storing png");
+				f = "png";
+			}
+			format = f;
+		}
+		return f;
+	}
+
+	private static byte[] encode(BufferedImage image, String ext) throws IOException {
+		if ("jpeg".equals(ext) && image.getColorModel().hasAlpha()) {
+			image = scale(image, image.getWidth()); // JPEG has no alpha channel → flatten onto white
+		}
+		Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(ext);
+		ImageWriter writer = writers.next();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+			writer.setOutput(ios);
+			ImageWriteParam param = writer.getDefaultWriteParam();
+			if (param.canWriteCompressed()) {
+				param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+				if (param.getCompressionType() == null) param.setCompressionType(param.getCompressionTypes()[0]);
+				param.setCompressionQuality(PropertiesLoader.getIntPropertyCached("screenshot.quality", 80) / 100f);
+			}
+			writer.write(null, new IIOImage(image, null, null), param);
+		} finally {
+			writer.dispose();
+		}
+		return out.toByteArray();
+	}
+
+	/** Opaque RGB copy scaled to the given width (aspect ratio kept). */
+	private static BufferedImage scale(BufferedImage source, int width) {
+		int w = Math.min(width, source.getWidth());
+		int h = Math.max(1, source.getHeight() * w / source.getWidth());
+		BufferedImage target = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = target.createGraphics();
+		try {
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			g.drawImage(source, 0, 0, w, h, Color.WHITE, null);
+		} finally {
+			g.dispose();
+		}
+		return target;
+	}
+
+	private static void atomicWrite(Path file, byte[] data) throws IOException {
+		Path tmp = Files.createTempFile(file.getParent(), "shot-", ".tmp");
+		Files.write(tmp, data);
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		WRITTEN_BYTES.addAndGet(data.length);
+	}
+
+	private static String sha256(byte[] data) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String kb(long bytes) {
+		return (bytes / 1024) + " KB";
+	}
+}
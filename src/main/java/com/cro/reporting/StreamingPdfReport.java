@@ -0,0 +1,155 @@
+package com.cro.reporting;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import com.cro.settings.PathManager;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * PDF post-processing step for the streaming report: reads reportDir/live/scenarios.jsonl one line at a time and
+ * writes reportDir/live/report.pdf (summary + one entry per scenario, failed steps with their error).
+ * Runs outside the test JVM, after the suite: mvn -Pstreaming-report exec:java@streaming-pdf
+ * PDFBox buffers pages in temp files, so memory stays flat for large suites.
+ *
+ * Arguments (optional): [scenarios.jsonl] [report.pdf]
+ */
+public final class StreamingPdfReport {
+
+	private static final PDFont FONT = PDType1Font.HELVETICA;
+	private static final PDFont BOLD = PDType1Font.HELVETICA_BOLD;
+	private static final float MARGIN = 40;
+	private static final float LEADING = 12;
+	private static final int WRAP = 110;
+
+	private final PDDocument document;
+	private PDPageContentStream content;
+	private float y;
+
+	private StreamingPdfReport(PDDocument document) {
+		this.document = document;
+	}
+
+	public static void main(String[] args) throws IOException {
+		Path live = PathManager.reportDir().resolve("live");
+		Path input = (args.length > 0) ? Paths.get(args[0]) : live.resolve("scenarios.jsonl");
+		Path output = (args.length > 1) ? Paths.get(args[1]) : live.resolve("report.pdf");
+		if (!Files.exists(input)) {
+			throw new IllegalStateException("No streaming report input at " + input + " (run with -Dreport.streaming=true)");
+		}
+		long start = System.currentTimeMillis();
+		int[] totals = summarize(input); // first pass: counts only
+		try (PDDocument document = new PDDocument(MemoryUsageSetting.setupTempFileOnly())) {
+			StreamingPdfReport pdf = new StreamingPdfReport(document);
+			pdf.newPage();
+			pdf.line(BOLD, 16, "Execution report");
+			pdf.line(FONT, 11, totals[0] + " scenario(s): " + totals[1] + " passed, " + totals[2] + " failed, "
+					+ (totals[0] - totals[1] - totals[2]) + " other");
+			pdf.gap();
+			try (BufferedReader in = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+				for (String json = in.readLine(); json != null; json = in.readLine()) {
+					if (!json.isBlank()) pdf.scenario(JsonParser.parseString(json).getAsJsonObject());
+				}
+			}
+			pdf.content.close();
+			document.save(output.toFile());
+		}
+		System.out.println("[StreamingPdfReport] " + totals[0] + " scenario(s) → " + output + " in "
+				+ (System.currentTimeMillis() - start) + "ms");
+	}
+
+	// --------- internal ---------
+
+	private static int[] summarize(Path input) throws IOException {
+		int[] totals = new int[3];
+		try (BufferedReader in = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+			for (String json = in.readLine(); json != null; json = in.readLine()) {
+				if (json.isBlank()) continue;
+				String status = JsonParser.parseString(json).getAsJsonObject().get("status").getAsString();
+				totals[0]++;
+				if ("PASSED".equals(status)) totals[1]++;
+				if ("FAILED".equals(status)) totals[2]++;
+			}
+		}
+		return totals;
+	}
+
+	private void scenario(JsonObject s) throws IOException {
+		String status = s.get("status").getAsString();
+		line(BOLD, 10, "[" + status + "] " + s.get("name").getAsString());
+		line(FONT, 8, s.get("uri").getAsString() + ":" + s.get("line").getAsInt() + " | " + s.get("durationMs").getAsLong()
+				+ " ms | " + s.get("tags"));
+		if (!"PASSED".equals(status)) {
+			for (JsonElement e : s.getAsJsonArray("steps")) {
+				JsonObject step = e.getAsJsonObject();
+				String stepStatus = step.get("status").getAsString();
+				if ("PASSED".equals(stepStatus)) continue;
+				line(FONT, 9, "  " + stepStatus + ": " + step.get("text").getAsString());
+				if (step.has("error")) {
+					String error = step.get("error").getAsString();
+					int cut = error.indexOf('\n');
+					line(FONT, 8, "    " + (cut > 0 ? error.substring(0, cut) : error));
+				}
+			}
+		}
+		gap();
+	}
+
+	private void line(PDFont font, float size, String text) throws IOException {
+		for (String part : wrap(sanitize(text))) {
+			if (y < MARGIN + LEADING) newPage();
+			content.beginText();
+			content.setFont(font, size);
+			content.newLineAtOffset(MARGIN, y);
+			content.showText(part);
+			content.endText();
+			y -= LEADING;
+		}
+	}
+
+	private void gap() {
+		y -= LEADING / 2;
+	}
+
+	private void newPage() throws IOException {
+		if (content != null) content.close();
+		PDPage page = new PDPage(PDRectangle.A4);
+		document.addPage(page);
+		content = new PDPageContentStream(document, page);
+		y = page.getMediaBox().getHeight() - MARGIN;
+	}
+
+	private static List<String> wrap(String text) {
+		List<String> parts = new ArrayList<>();
+		for (int i = 0; i < text.length(); i += WRAP) {
+			parts.add(text.substring(i, Math.min(text.length(), i + WRAP)));
+		}
+		if (parts.isEmpty()) parts.add("");
+		return parts;
+	}
+
+	/** Standard 14 fonts only encode WinAnsi; anything else (emoji, CJK, control chars) becomes '?'. */
+	private static String sanitize(String text) {
+		StringBuilder sb = new StringBuilder(text.length());
+		for (char c : text.toCharArray()) {
+			sb.append((c >= 0x20 && c < 0x7f) || (c >= 0xa0 && c <= 0xff) ? c : (c == '\t' ? ' ' : '?'));
+		}
+		return sb.toString();
+	}
+}
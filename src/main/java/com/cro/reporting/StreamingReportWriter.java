@@ -0,0 +1,349 @@
+package com.cro.reporting;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.cro.extentreporting.ExtentReportMetada;
+import com.cro.settings.PathManager;
+import com.cro.settings.PropertiesLoader;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EmbedEvent;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.WriteEvent;
+
+/**
+ * Cucumber plugin: streaming HTML + JSON-lines report (-Dreport.streaming=true), written while the run progresses.
+ *
+ * Every finished scenario is rendered on its own thread and handed to ONE background writer that appends it to
+ *   reportDir/live/index.html      (auto-refreshing while the run is in progress, viewable mid-run)
+ *   reportDir/live/scenarios.jsonl (one JSON object per scenario, input of the PDF post-processing step)
+ *   reportDir/live/attachments/    (scenario.attach data, written as it arrives)
+ * and then dropped, so heap use does not grow with the suite. At the end of the run the index header is replaced
+ * (final totals, run metadata, no auto-refresh) with a streaming file copy. The PDF is built afterwards by
+ * {@link StreamingPdfReport}. With this reporter on, the Extent adapter is not registered (ExtentAdapterPlugin), so no
+ * per-scenario data is kept in heap by Extent either.
+ *
+ * Config keys: report.streaming (default false), report.streaming.refresh.s (default 15)
+ */
+public class StreamingReportWriter implements ConcurrentEventListener {
+
+	private static final int MAX_LOG_CHARS = 4000;
+	private static final Runnable STOP = () -> { };
+
+	/** Data of a running scenario; lives only until its TestCaseFinished. */
+	private static final class Running {
+		final Instant start;
+		final List<Map<String, Object>> steps = new ArrayList<>();
+		final List<String> logs = new ArrayList<>();
+		final List<String> attachments = new ArrayList<>();
+
+		Running(Instant start) {
+			this.start = start;
+		}
+	}
+
+	private final Map<UUID, Running> running = new ConcurrentHashMap<>();
+	private final Map<Status, AtomicInteger> totals = new EnumMap<>(Status.class);
+	private final BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
+	private final AtomicInteger attachmentSeq = new AtomicInteger();
+	private final Gson gson = new GsonBuilder().disableHtmlEscaping().create();
+
+	private volatile boolean enabled;
+	private Path dir;
+	private Writer html;
+	private Writer jsonl;
+	private long headerBytes;
+	private Instant runStart;
+	private Thread writer;
+
+	public StreamingReportWriter() {
+		for (Status s : Status.values()) {
+			totals.put(s, new AtomicInteger());
+		}
+	}
+
+	@Override
+	public void setEventPublisher(EventPublisher publisher) {
+		publisher.registerHandlerFor(TestRunStarted.class, event -> start(event.getInstant()));
+
+		publisher.registerHandlerFor(TestCaseStarted.class, event -> {
+			if (enabled) running.put(event.getTestCase().getId(), new Running(event.getInstant()));
+		});
+
+		publisher.registerHandlerFor(TestStepFinished.class, event -> {
+			Running r = enabled ? running.get(event.getTestCase().getId()) : null;
+			if (r == null) return;
+			Status status = event.getResult().getStatus();
+			String text;
+			if (event.getTestStep() instanceof PickleStepTestStep step) {
+				text = step.getStep().getKeyword() + step.getStep().getText();
+			} else if (event.getTestStep() instanceof HookTestStep hook && status != Status.PASSED) {
+				text = hook.getHookType() + " hook " + hook.getCodeLocation(); // passed hooks are noise
+			} else {
+				return;
+			}
+			Map<String, Object> row = new LinkedHashMap<>();
+			row.put("text", text);
+			row.put("status", status.name());
+			row.put("durationMs", event.getResult().getDuration().toMillis());
+			Throwable error = event.getResult().getError();
+			if (error != null) row.put("error", String.valueOf(error));
+			synchronized (r) {
+				r.steps.add(row);
+			}
+		});
+
+		publisher.registerHandlerFor(WriteEvent.class, event -> {
+			Running r = enabled ? running.get(event.getTestCase().getId()) : null;
+			if (r == null) return;
+			String text = event.getText();
+			synchronized (r) {
+				r.logs.add(text.length() > MAX_LOG_CHARS ? text.substring(0, MAX_LOG_CHARS) + " …" : text);
+			}
+		});
+
+		publisher.registerHandlerFor(EmbedEvent.class, event -> {
+			Running r = enabled ? running.get(event.getTestCase().getId()) : null;
+			if (r == null) return;
+			String file = attachmentSeq.incrementAndGet() + extension(event.getMediaType());
+			byte[] data = event.getData();
+			synchronized (r) {
+				r.attachments.add(file);
+			}
+			queue.add(() -> write(dir.resolve("attachments").resolve(file), data));
+		});
+
+		publisher.registerHandlerFor(TestCaseFinished.class, event -> {
+			Running r = enabled ? running.remove(event.getTestCase().getId()) : null;
+			if (r == null) return;
+			Status status = event.getResult().getStatus();
+			totals.get(status).incrementAndGet();
+			Map<String, Object> json = toJson(event.getTestCase(), r, status, Duration.between(r.start, event.getInstant()));
+			String line = gson.toJson(json);
+			String fragment = fragment(json);
+			queue.add(() -> append(fragment, line));
+		});
+
+		publisher.registerHandlerFor(TestRunFinished.class, event -> finish(event.getInstant()));
+	}
+
+	// --------- lifecycle (writer thread owns the files) ---------
+
+	private void start(Instant instant) {
+		try {
+			enabled = PropertiesLoader.getBooleanPropertyCached("report.streaming", false);
+			if (!enabled) return;
+			runStart = instant;
+			dir = PathManager.reportDir().resolve("live");
+			Files.createDirectories(dir.resolve("attachments"));
+			int refresh = PropertiesLoader.getIntPropertyCached("report.streaming.refresh.s", 15);
+			String header = header("Run in progress… (refreshes every " + refresh + "s)",
+					"<meta http-equiv=\"refresh\" content=\"" + refresh + "\">", "");
+			html = Files.newBufferedWriter(dir.resolve("index.html"), StandardCharsets.UTF_8);
+			html.write(header);
+			html.flush();
+			headerBytes = header.getBytes(StandardCharsets.UTF_8).length;
+			jsonl = Files.newBufferedWriter(dir.resolve("scenarios.jsonl"), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to start streaming report", e);
+		}
+		writer = new Thread(() -> {
+			try {
+				for (Runnable task = queue.take(); task != STOP; task = queue.take()) {
+					task.run();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}, "streaming-report-writer");
+		writer.setDaemon(true);
+		writer.start();
+		System.out.println("[StreamingReport] writing " + dir.resolve("index.html"));
+	}
+
+	private void finish(Instant instant) {
+		if (!enabled) return;
+		queue.add(STOP);
+		try {
+			writer.join(TimeUnit.SECONDS.toMillis(60));
+			html.write("</div></body></html>\n");
+			html.close();
+			jsonl.close();
+			finalizeIndex(Duration.between(runStart, instant));
+			System.out.println("[StreamingReport] " + summary() + " → " + dir.resolve("index.html"));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (IOException e) {
+			System.out.println("[StreamingReport] failed to finalize report: " + e.getMessage());
+		}
+	}
+
+	/** Swaps the in-progress header for the final one; the scenario body is copied file-to-file, never loaded. */
+	private void finalizeIndex(Duration wall) throws IOException {
+		StringBuilder meta = new StringBuilder("<table class=\"meta\">");
+		ExtentReportMetada.snapshot().forEach((k, v) ->
+				meta.append("<tr><th>").append(esc(k)).append("</th><td>").append(esc(v)).append("</td></tr>"));
+		meta.append("</table>");
+		String header = header(summary() + " in " + formatDuration(wall), "", meta.toString());
+
+		Path index = dir.resolve("index.html");
+		Path tmp = dir.resolve("index.html.tmp");
+		try (FileChannel in = FileChannel.open(index, StandardOpenOption.READ);
+				FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+						StandardOpenOption.TRUNCATE_EXISTING)) {
+			out.write(ByteBuffer.wrap(header.getBytes(StandardCharsets.UTF_8)));
+			long position = headerBytes;
+			long size = in.size();
+			while (position < size) {
+				position += in.transferTo(position, size - position, out);
+			}
+		}
+		Files.move(tmp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private void append(String fragment, String jsonLine) {
+		try {
+			html.write(fragment);
+			html.flush(); // visible to a browser refresh right away
+			jsonl.write(jsonLine);
+			jsonl.write('\n');
+			jsonl.flush();
+		} catch (IOException e) {
+			System.out.println("[StreamingReport] append failed: " + e.getMessage());
+		}
+	}
+
+	private static void write(Path file, byte[] data) {
+		try {
+			Files.write(file, data);
+		} catch (IOException e) {
+			System.out.println("[StreamingReport] attachment write failed: " + e.getMessage());
+		}
+	}
+
+	// --------- rendering (scenario thread) ---------
+
+	private static Map<String, Object> toJson(TestCase testCase, Running r, Status status, Duration duration) {
+		Map<String, Object> json = new LinkedHashMap<>();
+		json.put("name", testCase.getName());
+		json.put("uri", testCase.getUri().toString());
+		json.put("line", testCase.getLocation().getLine());
+		json.put("tags", testCase.getTags());
+		json.put("status", status.name());
+		json.put("start", r.start.toString());
+		json.put("durationMs", duration.toMillis());
+		json.put("thread", Thread.currentThread().getName());
+		synchronized (r) {
+			json.put("steps", r.steps);
+			json.put("logs", r.logs);
+			json.put("attachments", r.attachments);
+		}
+		return json;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static String fragment(Map<String, Object> json) {
+		String status = ((String) json.get("status")).toLowerCase(Locale.ROOT);
+		StringBuilder sb = new StringBuilder(512);
+		sb.append("<details class=\"sc ").append(status).append("\"").append("failed".equals(status) ? " open" : "").append(">")
+				.append("<summary><b>").append(status.toUpperCase(Locale.ROOT)).append("</b> ").append(esc((String) json.get("name")))
+				.append(" <span class=\"dim\">").append(esc(json.get("uri") + ":" + json.get("line")))
+				.append(" · ").append(json.get("durationMs")).append(" ms · ").append(esc(String.valueOf(json.get("tags"))))
+				.append("</span></summary><ol>");
+		for (Map<String, Object> step : (List<Map<String, Object>>) json.get("steps")) {
+			sb.append("<li class=\"").append(((String) step.get("status")).toLowerCase(Locale.ROOT)).append("\">")
+					.append(esc((String) step.get("text"))).append(" <span class=\"dim\">").append(step.get("durationMs")).append(" ms</span>");
+			if (step.containsKey("error")) {
+				sb.append("<pre>").append(esc((String) step.get("error"))).append("</pre>");
+			}
+			sb.append("</li>");
+		}
+		sb.append("</ol>");
+		for (String log : (List<String>) json.get("logs")) {
+			sb.append("<pre class=\"log\">").append(esc(log)).append("</pre>");
+		}
+		for (String file : (List<String>) json.get("attachments")) {
+			sb.append("<a href=\"attachments/").append(file).append("\">").append(file).append("</a> ");
+		}
+		return sb.append("</details>\n").toString();
+	}
+
+	private static String header(String subtitle, String headExtra, String body) {
+		return "<!DOCTYPE html><html><head><meta charset=\"utf-8\">" + headExtra + "<title>Execution report</title><style>"
+				+ "body{font-family:sans-serif;margin:1.5em}.dim{color:#777;font-size:.85em}pre{white-space:pre-wrap;margin:.3em 0}"
+				+ ".sc{border-left:6px solid #bbb;margin:.3em 0;padding:.2em .6em}.sc.passed{border-color:#2e7d32}"
+				+ ".sc.failed{border-color:#c62828}.sc.skipped,.sc.pending,.sc.undefined{border-color:#f9a825}"
+				+ "li.failed{color:#c62828}li.skipped{color:#999}.meta th{text-align:left;padding-right:1em}"
+				+ "</style></head><body><h1>Execution report</h1><p>" + esc(subtitle) + "</p>" + body + "<div id=\"scenarios\">\n";
+	}
+
+	private String summary() {
+		int all = totals.values().stream().mapToInt(AtomicInteger::get).sum();
+		return all + " scenario(s): " + totals.get(Status.PASSED).get() + " passed, " + totals.get(Status.FAILED).get()
+				+ " failed, " + (all - totals.get(Status.PASSED).get() - totals.get(Status.FAILED).get()) + " other";
+	}
+
+	private static String formatDuration(Duration d) {
+		return String.format(Locale.ROOT, "%d:%02d:%02d", d.toHours(), d.toMinutesPart(), d.toSecondsPart());
+	}
+
+	private static String extension(String mediaType) {
+		return switch (mediaType == null ? "" : mediaType) {
+			case "image/png" -> ".png";
+			case "image/jpeg" -> ".jpg";
+			case "application/zip" -> ".zip";
+			case "application/json" -> ".json";
+			case "text/html" -> ".html";
+			default -> ".txt";
+		};
+	}
+
+	private static String esc(String s) {
+		if (s == null) return "";
+		StringBuilder sb = new StringBuilder(s.length());
+		for (char c : s.toCharArray()) {
+			switch (c) {
+				case '<' -> sb.append("&lt;");
+				case '>' -> sb.append("&gt;");
+				case '&' -> sb.append("&amp;");
+				case '"' -> sb.append("&quot;");
+				default -> sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+}
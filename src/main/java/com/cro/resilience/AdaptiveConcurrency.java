@@ -0,0 +1,199 @@
+package com.cro.resilience;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.cro.extentreporting.ExtentReportMetada;
+import com.cro.settings.PathManager;
+import com.cro.settings.PropertiesLoader;
+import com.cro.utils.ProcessMetrics;
+import com.sun.management.OperatingSystemMXBean;
+
+/**
+ * Adaptive admission control (-Dadaptive.concurrency=true).
+ *
+ * dp.threads sizes the TestNG worker pool = the UPPER bound. Workers must take an admission permit before a
+ * scenario starts; a sampler adjusts the number of permits between adaptive.min and adaptive.max from
+ *   - system CPU load (com.sun.management OperatingSystemMXBean)
+ *   - free physical memory, and
+ *   - RSS of this JVM's child processes (drivers + browsers) → projected cost of one more scenario.
+ * High pressure lowers the limit by one per interval, headroom with queued workers raises it by one.
+ * Every decision is logged; the per-interval curve (limit, active, completed) goes to reportDir/adaptive-concurrency.csv.
+ *
+ * Config keys: adaptive.concurrency (default false), adaptive.min (1), adaptive.max (dp.threads),
+ *              adaptive.interval.ms (2000), adaptive.cpu.high (0.85), adaptive.cpu.low (0.60),
+ *              adaptive.mem.min.mb (1024)
+ */
+public final class AdaptiveConcurrency {
+
+	/** Semaphore whose permit count can shrink without blocking the controller. */
+	private static final class AdmissionPermits extends Semaphore {
+		private static final long serialVersionUID = 1L;
+
+		AdmissionPermits(int permits) {
+			super(permits, true);
+		}
+
+		void shrink() {
+			reducePermits(1);
+		}
+	}
+
+	private static final AtomicInteger ACTIVE = new AtomicInteger();
+	private static final AtomicInteger COMPLETED = new AtomicInteger();
+	private static final List<String> CURVE = Collections.synchronizedList(new ArrayList<>());
+
+	private static volatile boolean initialized;
+	private static volatile AdmissionPermits permits;
+	private static volatile ScheduledExecutorService sampler;
+	private static volatile int limit;
+	private static int min;
+	private static int max;
+	private static double cpuHigh;
+	private static double cpuLow;
+	private static long memMinMb;
+	private static long startMs;
+	private static int completedAtLastSample;
+	private static int peakLimit;
+	private static int lowLimit;
+
+	private AdaptiveConcurrency() {
+		// prevent instantiation
+	}
+
+	public static boolean isEnabled() throws IOException {
+		return PropertiesLoader.getBooleanPropertyCached("adaptive.concurrency", false);
+	}
+
+	/** Runs the scenario once admitted; pass-through when adaptive mode is off. */
+	public static void run(Runnable scenario) {
+		AdmissionPermits p = permits();
+		if (p == null) {
+			scenario.run();
+			return;
+		}
+		p.acquireUninterruptibly();
+		ACTIVE.incrementAndGet();
+		try {
+			scenario.run();
+		} finally {
+			ACTIVE.decrementAndGet();
+			COMPLETED.incrementAndGet();
+			p.release();
+		}
+	}
+
+	/** Stops sampling and publishes the decisions summary + throughput curve. */
+	public static synchronized void stopAndReport() throws IOException {
+		if (sampler == null) return;
+		sampler.shutdownNow();
+		sample(); // final point of the curve
+		sampler = null;
+
+		double minutes = Math.max(1, System.currentTimeMillis() - startMs) / 60_000.0;
+		ExtentReportMetada.put("Adaptive Concurrency", "bounds " + min + ".." + max + ", used " + lowLimit + ".." + peakLimit
+				+ ", final=" + limit + ", " + COMPLETED.get() + " scenario(s) at "
+				+ String.format(Locale.ROOT, "%.1f", COMPLETED.get() / minutes) + "/min");
+		List<String> lines = new ArrayList<>();
+		lines.add("elapsed_ms,limit,active,completed_in_interval,cpu_load,free_mem_mb,child_rss_mb,decision");
+		synchronized (CURVE) {
+			lines.addAll(CURVE);
+		}
+		Files.write(PathManager.reportDir().resolve("adaptive-concurrency.csv"), lines, StandardCharsets.UTF_8);
+	}
+
+	// --------- internal ---------
+
+	private static AdmissionPermits permits() {
+		if (!initialized) {
+			synchronized (AdaptiveConcurrency.class) {
+				if (!initialized) {
+					try {
+						if (isEnabled()) start();
+					} catch (IOException e) {
+						throw new IllegalStateException("Failed to read adaptive concurrency settings", e);
+					}
+					initialized = true;
+				}
+			}
+		}
+		return permits;
+	}
+
+	private static void start() throws IOException {
+		int threads = Integer.parseInt(System.getProperty("dp.threads", "1"));
+		min = Math.max(1, PropertiesLoader.getIntPropertyCached("adaptive.min", 1));
+		max = Math.max(min, PropertiesLoader.getIntPropertyCached("adaptive.max", threads));
+		cpuHigh = Double.parseDouble(PropertiesLoader.getOptionalPropertyCached("adaptive.cpu.high", "0.85"));
+		cpuLow = Double.parseDouble(PropertiesLoader.getOptionalPropertyCached("adaptive.cpu.low", "0.60"));
+		memMinMb = PropertiesLoader.getIntPropertyCached("adaptive.mem.min.mb", 1024);
+		int interval = PropertiesLoader.getIntPropertyCached("adaptive.interval.ms", 2000);
+
+		limit = Math.max(min, (min + max) / 2); // start in the middle, the sampler moves from there
+		peakLimit = limit;
+		lowLimit = limit;
+		startMs = System.currentTimeMillis();
+		permits = new AdmissionPermits(limit);
+
+		ScheduledExecutorService s = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "adaptive-concurrency");
+			t.setDaemon(true);
+			return t;
+		});
+		s.scheduleWithFixedDelay(AdaptiveConcurrency::sample, interval, interval, TimeUnit.MILLISECONDS);
+		sampler = s;
+		System.out.println("[Adaptive] enabled | bounds " + min + ".." + max + " | start limit=" + limit
+				+ (threads < max ? " | WARN dp.threads=" + threads + " caps the pool below adaptive.max" : ""));
+	}
+
+	private static synchronized void sample() {
+		try {
+			OperatingSystemMXBean os = ManagementFactory.getPlatformMXBean(OperatingSystemMXBean.class);
+			double cpu = os.getCpuLoad(); // negative when not yet available
+			long freeMb = os.getFreeMemorySize() / (1024 * 1024);
+			long rssKb = ProcessMetrics.descendantsRssKb();
+			int active = ACTIVE.get();
+			int completed = COMPLETED.get();
+			long perScenarioMb = (rssKb > 0 && active > 0) ? rssKb / 1024 / active : 0;
+
+			String decision = "hold";
+			if ((cpu >= 0 && cpu > cpuHigh) || freeMb < memMinMb) {
+				if (limit > min) {
+					permits.shrink();
+					limit--;
+					decision = "down (cpu=" + pct(cpu) + ", free=" + freeMb + "MB)";
+				}
+			} else if (cpu >= 0 && cpu < cpuLow && permits.hasQueuedThreads() && limit < max
+					&& freeMb - perScenarioMb > memMinMb) {
+				permits.release();
+				limit++;
+				decision = "up (cpu=" + pct(cpu) + ", free=" + freeMb + "MB, ~" + perScenarioMb + "MB/scenario)";
+			}
+			if (!"hold".equals(decision)) {
+				System.out.println("[Adaptive] limit " + limit + " ← " + decision);
+			}
+			peakLimit = Math.max(peakLimit, limit);
+			lowLimit = Math.min(lowLimit, limit);
+			CURVE.add((System.currentTimeMillis() - startMs) + "," + limit + "," + active + "," + (completed - completedAtLastSample)
+					+ "," + String.format(Locale.ROOT, "%.2f", cpu) + "," + freeMb + "," + (rssKb < 0 ? "" : rssKb / 1024) + "," + decision.split(" ")[0]);
+			completedAtLastSample = completed;
+		} catch (RuntimeException e) {
+			System.out.println("[Adaptive] sampling failed: " + e.getMessage()); // never kill the scheduler
+		}
+	}
+
+	private static String pct(double load) {
+		return Math.round(load * 100) + "%";
+	}
+}
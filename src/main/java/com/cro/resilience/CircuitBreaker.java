@@ -0,0 +1,118 @@
+package com.cro.resilience;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.cro.extentreporting.ExtentReportMetada;
+import com.cro.settings.PropertiesLoader;
+import com.microsoft.playwright.TimeoutError;
+
+/**
+ * Suite-wide circuit breaker for infrastructure failures.
+ *
+ * After circuit.breaker.threshold CONSECUTIVE infrastructure-class failures (navigation timeout,
+ * connection refused/reset, DNS, browser/context gone, session creation failure) the circuit opens and
+ * every remaining scenario fails immediately in ScenarioHooks.before with the reason that tripped it.
+ * A pass or an ordinary (assertion/locator) failure resets the streak. The circuit stays open for the run.
+ *
+ * Config keys: circuit.breaker.threshold (default 5, 0 = disabled)
+ */
+public final class CircuitBreaker {
+
+	// Lower-cased fragments of Playwright / JDK / framework messages that point at the environment, not the test
+	private static final List<String> INFRA_MESSAGES = List.of(
+			"net::err_connection_refused", "net::err_connection_reset", "net::err_connection_closed",
+			"net::err_name_not_resolved", "net::err_internet_disconnected", "net::err_timed_out",
+			"net::err_address_unreachable", "ns_error_connection_refused", "ns_error_unknown_host",
+			"econnrefused", "connection refused",
+			"target page, context or browser has been closed", "browser has been closed",
+			"session file not created", "timeout creating session");
+
+	private static final AtomicInteger CONSECUTIVE = new AtomicInteger();
+	private static final AtomicInteger FAST_FAILED = new AtomicInteger();
+	private static volatile String openReason;
+
+	private CircuitBreaker() {
+		// prevent instantiation
+	}
+
+	/** Fails fast when the circuit is open; called before any browser work for a scenario. */
+	public static void checkClosed() {
+		String reason = openReason;
+		if (reason != null) {
+			FAST_FAILED.incrementAndGet();
+			throw new IllegalStateException("Circuit breaker open, scenario not started: " + reason);
+		}
+	}
+
+	public static boolean isOpen() {
+		return openReason != null;
+	}
+
+	public static void recordSuccess() {
+		CONSECUTIVE.set(0);
+	}
+
+	/** Records a scenario failure; opens the circuit when the infrastructure streak reaches the threshold. */
+	public static void recordFailure(String scenarioName, Throwable error) {
+		if (isOpen()) return; // fast-fails must not count
+		if (!isInfrastructureFailure(error)) {
+			CONSECUTIVE.set(0);
+			return;
+		}
+		int streak = CONSECUTIVE.incrementAndGet();
+		int threshold = threshold();
+		System.out.println("[CircuitBreaker] infrastructure failure " + streak + "/" + threshold + " in '" + scenarioName
+				+ "': " + firstLine(error));
+		if (threshold > 0 && streak >= threshold) {
+			synchronized (CircuitBreaker.class) {
+				if (openReason == null) {
+					openReason = streak + " consecutive infrastructure failures, last in '" + scenarioName + "': "
+							+ firstLine(error);
+					System.out.println("[CircuitBreaker] OPEN → remaining scenarios fail fast. " + openReason);
+				}
+			}
+		}
+	}
+
+	/** Navigation timeouts, network errors and session/browser loss; walks the cause chain. */
+	public static boolean isInfrastructureFailure(Throwable error) {
+		for (Throwable t = error; t != null; t = (t.getCause() == t) ? null : t.getCause()) {
+			String msg = String.valueOf(t.getMessage()).toLowerCase(Locale.ROOT);
+			if (t instanceof java.net.ConnectException || t instanceof java.net.UnknownHostException) {
+				return true;
+			}
+			if (t instanceof TimeoutError && (msg.contains("navigat") || msg.contains("page.goto"))) {
+				return true;
+			}
+			for (String fragment : INFRA_MESSAGES) {
+				if (msg.contains(fragment)) return true;
+			}
+		}
+		return false;
+	}
+
+	public static void reportMetrics() {
+		if (openReason != null) {
+			ExtentReportMetada.put("Circuit Breaker", "OPEN, " + FAST_FAILED.get() + " scenario(s) fast-failed: " + openReason);
+		}
+	}
+
+	// --------- internal ---------
+
+	private static int threshold() {
+		try {
+			return PropertiesLoader.getIntPropertyCached("circuit.breaker.threshold", 5);
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to read circuit.breaker.threshold", e);
+		}
+	}
+
+	private static String firstLine(Throwable error) {
+		String msg = String.valueOf(error.getMessage());
+		int nl = msg.indexOf('\n');
+		return error.getClass().getSimpleName() + ": " + (nl >= 0 ? msg.substring(0, nl) : msg);
+	}
+}
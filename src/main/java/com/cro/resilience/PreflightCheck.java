@@ -0,0 +1,96 @@
+package com.cro.resilience;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import com.cro.extentreporting.ExtentReportMetada;
+import com.cro.settings.PropertiesLoader;
+
+/**
+ * Suite pre-flight: probes base.url and the login endpoint concurrently with a short timeout,
+ * so an environment that is down fails the run in seconds instead of one Playwright timeout per scenario.
+ *
+ * A probe passes on any HTTP status below 500 (401/403/404 still prove the server is up).
+ *
+ * Config keys: preflight.enabled (default true), preflight.timeout.ms (default 5000), login.url (default base.url)
+ */
+public final class PreflightCheck {
+
+	private PreflightCheck() {
+		// prevent instantiation
+	}
+
+	/** Runs all probes; throws IllegalStateException listing every failed probe. */
+	public static void run() throws IOException {
+		if (!PropertiesLoader.getBooleanPropertyCached("preflight.enabled", true)) {
+			System.out.println("[Preflight] disabled");
+			return;
+		}
+		Duration timeout = Duration.ofMillis(PropertiesLoader.getIntPropertyCached("preflight.timeout.ms", 5000));
+		String baseUrl = PropertiesLoader.getRequiredPropertyCached("base.url");
+
+		Map<String, String> targets = new LinkedHashMap<>();
+		targets.put("base.url", baseUrl);
+		targets.put("login.url", PropertiesLoader.getOptionalPropertyCached("login.url", baseUrl));
+
+		HttpClient client = HttpClient.newBuilder()
+				.connectTimeout(timeout)
+				.followRedirects(HttpClient.Redirect.NORMAL)
+				.build();
+
+		long start = System.currentTimeMillis();
+		Map<String, CompletableFuture<String>> probes = new LinkedHashMap<>();
+		for (Map.Entry<String, String> t : targets.entrySet()) {
+			probes.put(t.getKey(), probe(client, t.getValue(), timeout));
+		}
+
+		List<String> failures = new ArrayList<>();
+		List<String> results = new ArrayList<>();
+		for (Map.Entry<String, CompletableFuture<String>> p : probes.entrySet()) {
+			String target = p.getKey() + "=" + targets.get(p.getKey());
+			String error = p.getValue().join();
+			if (error == null) {
+				results.add(p.getKey() + " OK");
+			} else {
+				failures.add(target + " → " + error);
+				results.add(p.getKey() + " FAILED");
+			}
+		}
+		long took = System.currentTimeMillis() - start;
+		ExtentReportMetada.put("Preflight", String.join(", ", results) + " (" + took + "ms)");
+
+		if (!failures.isEmpty()) {
+			throw new IllegalStateException("Pre-flight failed, environment not reachable:\n  " + String.join("\n  ", failures));
+		}
+		System.out.println("[Preflight] " + String.join(", ", results) + " in " + took + "ms");
+	}
+
+	// --------- internal ---------
+
+	/** Completes with null on success, otherwise with the failure reason (never exceptionally). */
+	private static CompletableFuture<String> probe(HttpClient client, String url, Duration timeout) {
+		HttpRequest request;
+		try {
+			request = HttpRequest.newBuilder(URI.create(url.trim())).timeout(timeout).GET().build();
+		} catch (IllegalArgumentException e) {
+			return CompletableFuture.completedFuture("invalid URL: " + e.getMessage());
+		}
+		return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+				.handle((response, error) -> {
+					if (error != null) {
+						Throwable cause = (error.getCause() != null) ? error.getCause() : error;
+						return cause.getClass().getSimpleName() + (cause.getMessage() != null ? ": " + cause.getMessage() : "");
+					}
+					return (response.statusCode() < 500) ? null : "HTTP " + response.statusCode();
+				});
+	}
+}
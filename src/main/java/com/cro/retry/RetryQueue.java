@@ -0,0 +1,212 @@
+package com.cro.retry;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter;
+import com.aventstack.extentreports.model.Test;
+import com.cro.extentreporting.ExtentAdapterPlugin;
+import com.cro.extentreporting.ExtentReportMetada;
+import com.cro.settings.PathManager;
+import com.cro.settings.PropertiesLoader;
+
+/**
+ * End-of-run retry of failed scenarios (retry.count).
+ *
+ * The main pass does not retry inline: a failed scenario is queued and its worker moves on.
+ * After the main pass the queued scenarios run again (fresh context per attempt, like every scenario),
+ * at most retry.threads at a time, up to retry.count attempts each.
+ *
+ * Outcome per scenario: FLAKY_PASSED (passed on a retry) or FAILED (every attempt failed).
+ * First-attempt failures and the time spent on them + on retries are reported, so flake cost is visible.
+ *
+ * In Extent every attempt is its own test. A failed attempt that was retried is renamed "[attempt n, retried]",
+ * gets the category "retried" and status SKIP (the retry carries the result); the attempt that passed is tagged
+ * "flaky-passed" and names the first attempt, the last failed attempt stays FAIL with the category "retry-failed".
+ *
+ * Config keys: retry.count (0 = disabled), retry.threads (default 1)
+ */
+public final class RetryQueue {
+
+	public enum Outcome { FLAKY_PASSED, FAILED }
+
+	public record FirstFailure(String scenarioId, String name, long durationMs, String error) { }
+
+	private static final ConcurrentLinkedQueue<Object[]> QUEUED = new ConcurrentLinkedQueue<>();
+	private static final Map<String, FirstFailure> FIRST_FAILURES = new ConcurrentHashMap<>();
+	private static final Map<String, Outcome> OUTCOMES = new ConcurrentHashMap<>();
+	private static final Map<String, ExtentTest> FIRST_ATTEMPTS = new ConcurrentHashMap<>();
+	private static final List<String> LOG = Collections.synchronizedList(new ArrayList<>());
+	private static final AtomicLong RETRY_MS = new AtomicLong();
+
+	private static volatile Semaphore permits;
+
+	private RetryQueue() {
+		// prevent instantiation
+	}
+
+	/** Number of retry attempts per failed scenario; 0 disables the retry pass. */
+	public static int retryCount() throws IOException {
+		return Math.max(0, PropertiesLoader.getIntPropertyCached("retry.count", 0));
+	}
+
+	/** Queues a failed main-pass scenario (the data provider row is replayed as-is). */
+	public static void queue(Object[] scenarioRow, String scenarioId, String name, long durationMs, Throwable error) {
+		FIRST_FAILURES.put(scenarioId, new FirstFailure(scenarioId, name, durationMs, String.valueOf(error)));
+		ExtentTest first = markRetried(scenarioId, 1);
+		if (first != null) {
+			FIRST_ATTEMPTS.put(scenarioId, first);
+		}
+		QUEUED.add(scenarioRow);
+		System.out.println("[Retry] queued: " + name + " (" + scenarioId + ") after " + durationMs + "ms");
+	}
+
+	/** Rows for the retry pass; drained once. */
+	public static Object[][] drain() {
+		List<Object[]> rows = new ArrayList<>();
+		Object[] row;
+		while ((row = QUEUED.poll()) != null) {
+			rows.add(row);
+		}
+		return rows.toArray(new Object[0][]);
+	}
+
+	/** Limits retry-pass parallelism to retry.threads, independent of dp.threads. */
+	public static void acquire() throws IOException, InterruptedException {
+		Semaphore s = permits;
+		if (s == null) {
+			synchronized (RetryQueue.class) {
+				if (permits == null) {
+					permits = new Semaphore(Math.max(1, PropertiesLoader.getIntPropertyCached("retry.threads", 1)), true);
+				}
+				s = permits;
+			}
+		}
+		s.acquire();
+	}
+
+	public static void release() {
+		permits.release();
+	}
+
+	public static void recordAttempt(String scenarioId, int attempt, boolean passed, long durationMs) {
+		RETRY_MS.addAndGet(durationMs);
+		LOG.add(scenarioId + " attempt " + attempt + ": " + (passed ? "passed" : "failed") + " in " + durationMs + "ms");
+	}
+
+	/**
+	 * Marks the attempt that just failed on this thread as retried in Extent (attempt 1 = main pass).
+	 * Returns its Extent test, or null when Extent is off or the scenario never started.
+	 */
+	public static ExtentTest markRetried(String scenarioId, int attempt) {
+		ExtentTest test = currentExtentScenario(scenarioId);
+		if (test == null) return null;
+		try {
+			test.assignCategory("retried");
+			test.info("Attempt " + attempt + " failed and was retried (retry.count); the result is the later attempt");
+			test.getModel().setName(test.getModel().getName() + " [attempt " + attempt + ", retried]");
+			retriedStatus(test.getModel()); // after the log: logging recomputes the status
+		} catch (Throwable t) {
+			// Extent not active for this scenario
+			return null;
+		}
+		return test;
+	}
+
+	/** Records the final outcome; in Extent the attempt that just ran on this thread is tagged with it. */
+	public static void recordOutcome(String scenarioId, int attempt, Outcome outcome) {
+		OUTCOMES.put(scenarioId, outcome);
+		System.out.println("[Retry] " + outcome + ": " + scenarioId);
+		ExtentTest test = currentExtentScenario(scenarioId);
+		if (test == null) return;
+		try {
+			String label = (outcome == Outcome.FLAKY_PASSED) ? "flaky-passed" : "retry-failed";
+			test.assignCategory(label);
+			FirstFailure first = FIRST_FAILURES.get(scenarioId);
+			ExtentTest firstTest = FIRST_ATTEMPTS.get(scenarioId);
+			test.info((outcome == Outcome.FLAKY_PASSED ? "Passed" : "Failed") + " on attempt " + attempt
+					+ " after retry. First attempt: "
+					+ (firstTest != null ? "'" + firstTest.getModel().getName() + "' (started "
+							+ firstTest.getModel().getStartTime() + ")" : first.name()) + ", failed with: " + first.error());
+			test.getModel().setName(test.getModel().getName() + " [attempt " + attempt + ", " + label + "]");
+		} catch (Throwable t) {
+			// Extent not active for this scenario
+		}
+	}
+
+	public static void reportMetrics() throws IOException {
+		if (FIRST_FAILURES.isEmpty()) return;
+
+		long flaky = OUTCOMES.values().stream().filter(o -> o == Outcome.FLAKY_PASSED).count();
+		long failed = OUTCOMES.values().stream().filter(o -> o == Outcome.FAILED).count();
+		long firstAttemptMs = FIRST_FAILURES.values().stream().mapToLong(FirstFailure::durationMs).sum();
+
+		ExtentReportMetada.put("Retry Outcome", flaky + " flaky-passed, " + failed + " failed (of "
+				+ FIRST_FAILURES.size() + " first-attempt failure(s))");
+		ExtentReportMetada.put("Retry Overhead", "first attempts=" + firstAttemptMs + "ms, retries=" + RETRY_MS.get() + "ms");
+
+		List<String> lines = new ArrayList<>();
+		for (FirstFailure f : FIRST_FAILURES.values()) {
+			lines.add(OUTCOMES.getOrDefault(f.scenarioId(), Outcome.FAILED) + " | " + f.name() + " (" + f.scenarioId()
+					+ ") | first attempt " + f.durationMs() + "ms: " + f.error());
+		}
+		Collections.sort(lines);
+		lines.add("");
+		synchronized (LOG) {
+			lines.addAll(LOG);
+		}
+		Files.write(PathManager.reportDir().resolve("retry-summary.txt"), lines, StandardCharsets.UTF_8);
+	}
+
+	// --------- internal ---------
+
+	/** This thread's Extent scenario if it is the given one (the adapter keeps the last scenario per thread). */
+	private static ExtentTest currentExtentScenario(String scenarioId) {
+		FirstFailure first = FIRST_FAILURES.get(scenarioId);
+		if (first == null || !ExtentAdapterPlugin.isActive()) return null;
+		try {
+			ExtentTest test = ExtentCucumberAdapter.getCurrentScenario();
+			return (test != null && test.getModel().getName().equals(first.name())) ? test : null;
+		} catch (Throwable t) {
+			return null;
+		}
+	}
+
+	/**
+	 * FAIL → SKIP for the attempt and its steps; ancestors (feature, outline) re-derived from their children
+	 * other than retried attempts, so a flaky-passed scenario leaves its feature passed.
+	 */
+	private static void retriedStatus(Test attempt) {
+		skipFailures(attempt);
+		for (Test parent = attempt.getParent(); parent != null; parent = parent.getParent()) {
+			synchronized (parent) {
+				List<Status> current = parent.getChildren().stream().filter(c -> !isRetried(c)).map(Test::getStatus).toList();
+				parent.setStatus(current.isEmpty() ? Status.PASS : Status.max(current));
+			}
+		}
+	}
+
+	private static boolean isRetried(Test test) {
+		return test.getCategorySet().stream().anyMatch(c -> "retried".equals(c.getName()));
+	}
+
+	private static void skipFailures(Test test) {
+		if (test.getStatus() == Status.FAIL) {
+			test.setStatus(Status.SKIP);
+		}
+		for (Test child : test.getChildren()) {
+			skipFailures(child);
+		}
+	}
+}
@@ -23,7 +23,8 @@ public final class PathManager {
 		        Path screenshotDir,
 		        Path videoDir,
 		        Path downloadDir,
-		        Path sessionDir
+		        Path sessionDir,
+		        Path cacheDir
 		    ) { }
 	 /** Reads base.dir from PathConfig (defaults to ${user.dir}) and normalizes to absolute Path. */
 	    private static Path baseDir() {
@@ -37,6 +38,8 @@ public final class PathManager {
 	    public static Path videoDir()      { return Holder.INSTANCE.videoDir; }
 	    public static Path downloadDir()   { return Holder.INSTANCE.downloadDir; }
 	    public static Path sessionDir()    { return Holder.INSTANCE.sessionDir; }
+	    /** Survives between runs (result cache, indexes); NOT under target/ so mvn clean keeps it. */
+	    public static Path cacheDir()      { return Holder.INSTANCE.cacheDir; }
 	    /** Ensure output folders exist; safe to call multiple times and in parallel. */
 	    public static void createRequiredDirs() {
 	        try {
@@ -46,6 +49,7 @@ public final class PathManager {
 	            Files.createDirectories(videoDir());
 	            Files.createDirectories(downloadDir());
 	            Files.createDirectories(sessionDir());
+	            Files.createDirectories(cacheDir());
 	        } catch (IOException e) {
 	            throw new RuntimeException("Error: Failed to create one or more directories", e);
 	        }
@@ -60,7 +64,8 @@ public final class PathManager {
 	        Path video       = resolveUnder(base, PathConfig.get("video.dir", "extent-reports/screenshots"));
 	        Path download    = resolveUnder(base, PathConfig.get("download.dir", "downloads"));
 	        Path session = resolveUnder(base,PathConfig.get("session.dir", "sessions/${run.id}"));
-	        return new ResolvedPaths(base, report, log, screenshots, video, download, session);
+	        Path cache       = resolveUnder(base, PathConfig.get("cache.dir", ".cache"));
+	        return new ResolvedPaths(base, report, log, screenshots, video, download, session, cache);
 	    }
  
 	    private static Path resolveUnder(Path base, String spec) {
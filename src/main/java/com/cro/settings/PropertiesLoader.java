@@ -9,6 +9,8 @@ import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
@@ -405,28 +407,34 @@ public final class PropertiesLoader {
     
     // Lightweight browser enum + normalizer
     public enum Browser {
-        CHROME, FIREFOX, EDGE, SAFARI;
+        CHROME("chrome", "chromium", "gc", "googlechrome"),
+        FIREFOX("firefox", "ff", "mozilla"),
+        EDGE("edge", "msedge"),
+        SAFARI("safari");
+
+        private final List<String> aliases;
+
+        Browser(String... aliases) {
+            this.aliases = List.of(aliases);
+        }
+
         static Browser fromStringStrict(String raw) {
             String s = (raw == null ? "" : raw.trim().toLowerCase(Locale.ROOT));
-            switch (s) {
-                case "chrome":
-                case "chromium":
-                case "gc":
-                case "googlechrome":
-                    return CHROME;
-                case "firefox":
-                case "ff":
-                case "mozilla":
-                    return FIREFOX;
-                case "edge":
-                case "msedge":
-                    return EDGE;
-                case "safari":
-                    return SAFARI;
-                default:
-                    throw new IllegalArgumentException(
-                        "Unsupported browser '" + raw + "'. Allowed: chrome, firefox, edge, safari");
+            for (Browser b : values()) {
+                if (b.aliases.contains(s)) return b;
             }
+            throw new IllegalArgumentException(
+                "Unsupported browser '" + raw + "'. Allowed: chrome, firefox, edge, safari");
+        }
+
+        /** Normalized browser of a name as returned by toString() (e.g. a matrix entry). */
+        public static Browser of(String name) {
+            return fromStringStrict(name);
+        }
+
+        /** Every accepted spelling, normalized name first (config keys such as browsers.msedge.capacity may use any). */
+        public List<String> aliases() {
+            return aliases;
         }
 
         @Override
@@ -473,6 +481,36 @@ public final class PropertiesLoader {
         return Browser.fromStringStrict(effectiveBrowserCached());
     }
 
+    // Browser matrix: -Dbrowsers=chrome,firefox,msedge (or env BROWSERS / config 'browsers'); empty = single-browser run
+    public static List<String> matrixBrowsersCached() throws IOException {
+        String raw = firstNonBlank(getSystemPropertyIgnoreCase("browsers"), getEnvVarIgnoreCase("BROWSERS"),
+                loadCached().getProperty("browsers"));
+        if (!isNonBlank(raw)) return List.of();
+        Set<String> browsers = new LinkedHashSet<>();
+        for (String b : raw.split(",")) {
+            if (isNonBlank(b)) browsers.add(Browser.fromStringStrict(b).toString());
+        }
+        return List.copyOf(browsers);
+    }
+
+    // Backend traffic mode: -Dhar.mode (or env HAR_MODE / config 'har.mode', so each env file can pick its own)
+    public enum NetworkMode {
+        LIVE, RECORD, REPLAY;
+        static NetworkMode fromStringStrict(String raw) {
+            String s = (raw == null ? "" : raw.trim().toUpperCase(Locale.ROOT));
+            try {
+                return valueOf(s.isEmpty() ? "LIVE" : s);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported har.mode '" + raw + "'. Allowed: live, record, replay");
+            }
+        }
+    }
+
+    public static NetworkMode networkModeCached() throws IOException {
+        return NetworkMode.fromStringStrict(firstNonBlank(getSystemPropertyIgnoreCase("har.mode"),
+                getEnvVarIgnoreCase("HAR_MODE"), loadCached().getProperty("har.mode")));
+    }
+
     // ===== NEW ===== Generic, reusable case-insensitive lookups for System props & env vars
 
     /**
@@ -537,4 +575,30 @@ public final class PropertiesLoader {
      return getRequiredPropertyCached(role + ".password");
  }
 
+ // =======================================================
+ // OPTIONAL FRAMEWORK SETTINGS (JVM property > env config > default)
+ // =======================================================
+
+ public static String getOptionalPropertyCached(String key, String defaultValue) throws IOException {
+     String sys = getSystemPropertyIgnoreCase(key);
+     if (isNonBlank(sys)) return sys.trim();
+
+     String value = loadCached().getProperty(key);
+     return isNonBlank(value) ? value.trim() : defaultValue;
+ }
+
+ public static boolean getBooleanPropertyCached(String key, boolean defaultValue) throws IOException {
+     return Boolean.parseBoolean(getOptionalPropertyCached(key, String.valueOf(defaultValue)));
+ }
+
+ public static int getIntPropertyCached(String key, int defaultValue) throws IOException {
+     String value = getOptionalPropertyCached(key, null);
+     if (value == null) return defaultValue;
+     try {
+         return Integer.parseInt(value);
+     } catch (NumberFormatException e) {
+         throw new IllegalStateException("Property '" + key + "' must be an integer but was: " + value, e);
+     }
+ }
+
 }
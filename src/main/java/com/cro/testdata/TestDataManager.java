@@ -0,0 +1,169 @@
+package com.cro.testdata;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.cro.listeners.LogBridge;
+import com.cro.playwright.BrowserManager;
+import com.cro.settings.PropertiesLoader;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.microsoft.playwright.APIRequestContext;
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.options.RequestOptions;
+
+/**
+ * API-driven test-data seeding for UI scenarios.
+ *
+ * Preconditions (countries, list items, ...) are created through the scenario's own
+ * APIRequestContext, so requests carry the session cookies of the logged-in role.
+ * Every entity is registered per thread and removed in ONE batched cleanup call
+ * from the @After hook. UI creation is kept only for scenarios that test creation itself.
+ *
+ * Config keys (env properties):
+ *   api.base.url                 → optional, defaults to base.url
+ *   api.&lt;type&gt;.create.path       → POST endpoint for the entity type
+ *   api.&lt;type&gt;.id.field          → id attribute in the create response (default: id)
+ *   api.cleanup.path             → POST endpoint accepting {"entities":[{"type","id"}]}
+ */
+public final class TestDataManager {
+
+	// Run-wide counter so names stay unique even when a thread creates the same alias twice
+	private static final AtomicLong SEQUENCE = new AtomicLong();
+
+	// Entities created by the scenario running on this thread
+	private static final ThreadLocal<List<TestEntity>> TL_CREATED = ThreadLocal.withInitial(ArrayList::new);
+
+	private TestDataManager() {
+		// prevent instantiation
+	}
+
+	/** Thread-unique name, e.g. "abc" → "abc_t23_7", so parallel scenarios never collide. */
+	public static String uniqueName(String alias) {
+		return alias + "_t" + Thread.currentThread().threadId() + "_" + SEQUENCE.incrementAndGet();
+	}
+
+	/**
+	 * Creates an entity through the API and registers it for teardown.
+	 *
+	 * @param type   Entity type (config prefix)
+	 * @param alias  Name used in the feature file
+	 * @param fields Additional JSON fields (e.g. active=true)
+	 * @return Registered entity including the unique name sent to the application
+	 */
+	public static TestEntity create(String type, String alias, Map<String, Object> fields) {
+		String path = setting("api." + type + ".create.path", null);
+		if (path == null) {
+			throw new IllegalStateException("Missing property 'api." + type + ".create.path' for API seeding");
+		}
+		String name = uniqueName(alias);
+		Map<String, Object> body = new LinkedHashMap<>(fields);
+		body.put("name", name);
+
+		long start = System.currentTimeMillis();
+		APIResponse response = request().post(apiUrl(path), RequestOptions.create().setData(body));
+		try {
+			if (!response.ok()) {
+				throw new IllegalStateException("Seeding " + type + " '" + name + "' failed: HTTP "
+						+ response.status() + " " + response.statusText());
+			}
+			String idField = setting("api." + type + ".id.field", "id");
+			JsonObject json = JsonParser.parseString(response.text()).getAsJsonObject();
+			JsonElement id = json.get(idField);
+			if (id == null || id.isJsonNull()) {
+				throw new IllegalStateException("Seeding " + type + " '" + name + "' returned no '" + idField + "'");
+			}
+
+			TestEntity entity = new TestEntity(type, id.getAsString(), name, alias);
+			TL_CREATED.get().add(entity);
+			LogBridge.info("[TestData] created " + type + " name=" + name + " id=" + entity.id()
+					+ " in " + (System.currentTimeMillis() - start) + "ms");
+			return entity;
+		} finally {
+			response.dispose();
+		}
+	}
+
+	/** Unique name registered for a feature-file alias on this thread, or the alias itself if not seeded. */
+	public static String resolveName(String type, String alias) {
+		for (TestEntity e : TL_CREATED.get()) {
+			if (e.type().equals(type) && e.alias().equals(alias)) {
+				return e.name();
+			}
+		}
+		return alias;
+	}
+
+	public static List<TestEntity> created() {
+		return Collections.unmodifiableList(TL_CREATED.get());
+	}
+
+	/**
+	 * Deletes everything this thread's scenario created in ONE batched call.
+	 * Must run while the scenario's BrowserContext is still open.
+	 */
+	public static void deleteAllCreated() {
+		List<TestEntity> entities = TL_CREATED.get();
+		if (entities.isEmpty()) {
+			TL_CREATED.remove();
+			return;
+		}
+		try {
+			String path = setting("api.cleanup.path", null);
+			if (path == null) {
+				throw new IllegalStateException("Missing property 'api.cleanup.path'; "
+						+ entities.size() + " seeded entities were not removed");
+			}
+			List<Map<String, String>> payload = new ArrayList<>();
+			for (TestEntity e : entities) {
+				payload.add(Map.of("type", e.type(), "id", e.id()));
+			}
+
+			long start = System.currentTimeMillis();
+			APIResponse response = request().post(apiUrl(path),
+					RequestOptions.create().setData(Map.of("entities", payload)));
+			try {
+				if (!response.ok()) {
+					throw new IllegalStateException("Batched cleanup failed: HTTP "
+							+ response.status() + " " + response.statusText());
+				}
+			} finally {
+				response.dispose();
+			}
+			LogBridge.info("[TestData] removed " + entities.size() + " entities in one call ("
+					+ (System.currentTimeMillis() - start) + "ms)");
+		} finally {
+			TL_CREATED.remove();
+		}
+	}
+
+	// --------- internal ---------
+
+	// Shares the cookie jar of the scenario context → authenticated as the scenario's role
+	private static APIRequestContext request() {
+		return BrowserManager.getContext().request();
+	}
+
+	private static String apiUrl(String path) {
+		String base = setting("api.base.url", setting("base.url", ""));
+		if (path.startsWith("http://") || path.startsWith("https://")) {
+			return path;
+		}
+		return base.replaceAll("/+$", "") + (path.startsWith("/") ? path : "/" + path);
+	}
+
+	private static String setting(String key, String def) {
+		try {
+			return PropertiesLoader.getOptionalPropertyCached(key, def);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
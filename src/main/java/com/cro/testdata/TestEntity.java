@@ -0,0 +1,12 @@
+package com.cro.testdata;
+
+/**
+ * Reference data created for a scenario through the API.
+ *
+ * @param type  Entity type as used in config keys (e.g. country → api.country.create.path)
+ * @param id    Identifier returned by the create call, used for teardown
+ * @param name  Thread-unique name actually sent to the application
+ * @param alias Name used in the feature file (e.g. "abc")
+ */
+public record TestEntity(String type, String id, String name, String alias) {
+}
@@ -0,0 +1,170 @@
+package com.cro.utils;
+
+/*
+* Bulk verification of "type | label | expected" DataTables.
+* The whole table is shipped to the browser as ONE page.evaluate call: controls are resolved by type + label
+* and every actual value comes back in a single response, instead of several Playwright round trips per row.
+* Comparison happens on the Java side and ALL mismatches are reported together in one AssertionError.
+*/
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.cro.listeners.LogBridge;
+
+public class ControlTableVerifier {
+
+	// Supported control types (case-insensitive in the feature file)
+	private static final List<String> SUPPORTED_TYPES =
+			List.of("dropdown", "toggle", "editbox", "searchbox", "button", "linktext", "text");
+
+	// Resolves every row in one pass; returns [{found, actual}] in the same order as the rows
+	private static final String PROBE_SCRIPT = """
+			({ tab, rows }) => {
+			  const norm = s => (s || '').replace(/\\s+/g, ' ').trim().toLowerCase();
+			  const visible = el => !!(el && (el.offsetWidth || el.offsetHeight || el.getClientRects().length));
+			  const textOf = el => norm(el.innerText || el.textContent);
+
+			  // Scope to the tab panel of the requested tab when the app exposes ARIA tabs
+			  const panels = [...document.querySelectorAll('[role=tabpanel]')];
+			  const byTab = panels.find(p => {
+			    const id = p.getAttribute('aria-labelledby');
+			    const tabEl = id && document.getElementById(id);
+			    return tabEl && textOf(tabEl) === norm(tab);
+			  });
+			  const root = byTab || panels.find(visible) || document;
+
+			  const SELECTORS = {
+			    dropdown: 'select,[role=combobox],[role=listbox]',
+			    toggle: 'input[type=checkbox],[role=switch],[role=checkbox],[aria-pressed]',
+			    editbox: 'input:not([type=checkbox]):not([type=radio]):not([type=button]):not([type=submit]),textarea',
+			    searchbox: 'input[type=search],[role=searchbox],input',
+			    button: 'button,[role=button],input[type=button],input[type=submit]',
+			    linktext: 'a,[role=link]',
+			    text: 'label,span,p,h1,h2,h3,h4,h5,h6,div,td,th,legend'
+			  };
+
+			  const byAttributes = (label, sel) => [...root.querySelectorAll(sel)].find(e =>
+			    norm(e.getAttribute('aria-label')) === label ||
+			    norm(e.getAttribute('placeholder')) === label ||
+			    norm(e.getAttribute('title')) === label);
+
+			  const byLabelElement = (label, sel) => {
+			    for (const l of root.querySelectorAll('label')) {
+			      if (textOf(l) !== label) continue;
+			      if (l.control && l.control.matches(sel)) return l.control;
+			      const inner = l.querySelector(sel);
+			      if (inner) return inner;
+			      const row = l.closest('tr,li,fieldset,.form-group,div');
+			      const near = row && row.querySelector(sel);
+			      if (near) return near;
+			    }
+			    return null;
+			  };
+
+			  // Deepest element whose own text equals the label
+			  const byText = (label, sel) => [...root.querySelectorAll(sel)]
+			    .filter(e => textOf(e) === label && visible(e)).pop() || null;
+
+			  const resolve = (type, label) => {
+			    const sel = SELECTORS[type];
+			    switch (type) {
+			      case 'button':
+			      case 'linktext':
+			      case 'text':
+			        return byText(label, sel) || byAttributes(label, sel);
+			      default:
+			        return byLabelElement(label, sel) || byAttributes(label, sel);
+			    }
+			  };
+
+			  const read = (type, el) => {
+			    switch (type) {
+			      case 'dropdown':
+			        if (el.tagName === 'SELECT') return el.selectedOptions.length ? el.selectedOptions[0].text : '';
+			        return el.value !== undefined ? el.value : (el.innerText || el.textContent);
+			      case 'toggle': {
+			        const state = el.type === 'checkbox' ? el.checked
+			          : (el.getAttribute('aria-checked') || el.getAttribute('aria-pressed')) === 'true';
+			        return state ? 'On' : 'Off';
+			      }
+			      case 'editbox':
+			        return el.value;
+			      case 'searchbox':
+			        return el.value || el.getAttribute('placeholder');
+			      case 'button':
+			        return (el.disabled || el.getAttribute('aria-disabled') === 'true') ? 'disabled' : 'enabled';
+			      default:
+			        return el.innerText || el.textContent;
+			    }
+			  };
+
+			  return rows.map(r => {
+			    const type = norm(r.type);
+			    const el = resolve(type, norm(r.label));
+			    return el ? { found: true, actual: String(read(type, el) ?? '').trim() } : { found: false, actual: null };
+			  });
+			}
+			""";
+
+	private final UIActions uiActions;
+
+	public ControlTableVerifier(UIActions uiActions) {
+		this.uiActions = uiActions;
+	}
+
+	/**
+	 * Verifies every row of a "type | label | expected" table in a single browser round trip.
+	 *
+	 * @param tab  Tab name used to scope the lookup (falls back to the visible tab panel / whole page)
+	 * @param rows DataTable rows as maps (header row = keys)
+	 * @throws AssertionError listing every mismatch / unresolved control
+	 */
+	public void verify(String tab, List<Map<String, String>> rows) {
+		for (Map<String, String> row : rows) {
+			String type = normalize(row.get("type"));
+			if (!SUPPORTED_TYPES.contains(type)) {
+				throw new IllegalArgumentException(
+						"Unsupported control type '" + row.get("type") + "'. Allowed: " + SUPPORTED_TYPES);
+			}
+		}
+
+		long start = System.nanoTime();
+		@SuppressWarnings("unchecked")
+		List<Map<String, Object>> results =
+				(List<Map<String, Object>>) uiActions.evaluate(PROBE_SCRIPT, Map.of("tab", tab, "rows", rows));
+		long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+		List<String> mismatches = new ArrayList<>();
+		for (int i = 0; i < rows.size(); i++) {
+			Map<String, String> row = rows.get(i);
+			Map<String, Object> result = results.get(i);
+			String label = row.get("label");
+			String expected = row.get("expected");
+
+			if (!Boolean.TRUE.equals(result.get("found"))) {
+				mismatches.add("[" + row.get("type") + "] '" + label + "' -> control not found");
+				continue;
+			}
+			String actual = String.valueOf(result.get("actual"));
+			if (!normalize(actual).equals(normalize(expected))) {
+				mismatches.add("[" + row.get("type") + "] '" + label + "' -> expected='" + expected
+						+ "' actual='" + actual + "'");
+			}
+		}
+
+		LogBridge.info("[ControlTableVerifier] tab=" + tab + " controls=" + rows.size()
+				+ " mismatches=" + mismatches.size() + " time=" + elapsedMs + "ms (1 round trip)");
+
+		if (!mismatches.isEmpty()) {
+			throw new AssertionError("Tab '" + tab + "' has " + mismatches.size() + " of " + rows.size()
+					+ " control(s) not matching defaults:\n  " + String.join("\n  ", mismatches));
+		}
+	}
+
+	private static String normalize(String value) {
+		return value == null ? "" : value.replaceAll("\\s+", " ").trim().toLowerCase(Locale.ROOT);
+	}
+}
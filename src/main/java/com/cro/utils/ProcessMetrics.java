@@ -0,0 +1,56 @@
+package com.cro.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Resident memory of this JVM's child process tree (Playwright drivers, browsers, browser servers).
+ * Reads /proc/&lt;pid&gt;/status (Linux); returns -1 where /proc is not available.
+ */
+public final class ProcessMetrics {
+
+	private static final Path PROC = Paths.get("/proc");
+
+	private ProcessMetrics() {
+		// prevent instantiation
+	}
+
+	public static boolean isSupported() {
+		return Files.isDirectory(PROC.resolve("self"));
+	}
+
+	/** Sum of VmRSS (KB) over all descendants of the current JVM, or -1 when unsupported. */
+	public static long descendantsRssKb() {
+		if (!isSupported()) return -1;
+		return ProcessHandle.current().descendants().mapToLong(p -> rssKb(p.pid())).filter(kb -> kb > 0).sum();
+	}
+
+	/** Sum of VmRSS (KB) of the given process and its descendants, or -1 when unsupported. */
+	public static long treeRssKb(ProcessHandle root) {
+		if (!isSupported()) return -1;
+		long self = Math.max(0, rssKb(root.pid()));
+		return self + root.descendants().mapToLong(p -> rssKb(p.pid())).filter(kb -> kb > 0).sum();
+	}
+
+	/** VmRSS (KB) of one process; -1 if it is gone or unreadable. */
+	public static long rssKb(long pid) {
+		try {
+			List<String> lines = Files.readAllLines(PROC.resolve(Long.toString(pid)).resolve("status"));
+			for (String line : lines) {
+				if (line.startsWith("VmRSS:")) {
+					return Long.parseLong(line.substring(6).replace("kB", "").trim());
+				}
+			}
+		} catch (IOException | NumberFormatException e) {
+			// process exited between listing and reading, or kernel thread without VmRSS
+		}
+		return -1;
+	}
+
+	public static String formatKb(long kb) {
+		return (kb < 0) ? "n/a" : (kb / 1024) + " MB";
+	}
+}
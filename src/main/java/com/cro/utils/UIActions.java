@@ -5,7 +5,11 @@ package com.cro.utils;
 * This is utility class which will perform all the relevant UI actions on the application pages.
 */
 
+import java.util.function.Supplier;
+
+import com.cro.jfr.UIActionEvent;
 import com.cro.playwright.PageProvider;
+import com.cro.playwright.StabilityWait;
 import com.microsoft.playwright.Page;
 
 public class UIActions {
@@ -22,14 +26,65 @@ public class UIActions {
 	}
 
 	public void click(String selector) {
-		page().click(selector);
+		recorded("click", selector, () -> {
+			page().click(selector);
+			return null;
+		});
+		StabilityWait.settleIfNavigated(page()); // the click may have navigated (page load or SPA route change)
 	}
 
 	public void fill(String selector, String value) {
-		page().fill(selector, value);
+		recorded("fill", selector, () -> {
+			page().fill(selector, value);
+			return null;
+		});
 	}
 
 	public void navigate(String url) {
-		page().navigate(url);
+		recorded("navigate", null, () -> {
+			page().navigate(url);
+			return null;
+		});
+		StabilityWait.settleIfNavigated(page());
+	}
+
+	// Until no fetch/XHR is in flight and DOM + network have been quiet (StabilityWait), instead of fixed sleeps
+	public void waitForStable() {
+		recorded("waitForStable", null, () -> {
+			StabilityWait.waitForStable(page());
+			return null;
+		});
+	}
+
+	// Single round trip into the browser, used for bulk reads (e.g. DataTable verification)
+	public Object evaluate(String script, Object arg) {
+		return recorded("evaluate", null, () -> page().evaluate(script, arg));
+	}
+
+	// JFR: one UIActionEvent per call; fields are only filled when a running recording keeps the event
+	private <T> T recorded(String action, String selector, Supplier<T> call) {
+		UIActionEvent event = new UIActionEvent();
+		event.begin();
+		try {
+			return call.get();
+		} catch (RuntimeException e) {
+			event.failed = true;
+			throw e;
+		} finally {
+			event.finish(() -> {
+				event.action = action;
+				event.selector = selector;
+				event.url = currentUrl();
+			});
+		}
+	}
+
+	// Never throws: runs in the finally above and must not replace the action's own exception
+	private String currentUrl() {
+		try {
+			return page().url();
+		} catch (RuntimeException e) {
+			return null; // page closed / crashed, or no page yet
+		}
 	}
 }
\ No newline at end of file
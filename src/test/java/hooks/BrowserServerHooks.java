@@ -0,0 +1,34 @@
+package hooks;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.cro.playwright.BrowserManager;
+import com.cro.playwright.BrowserMatrix;
+import com.cro.playwright.BrowserServer;
+import com.cro.settings.PropertiesLoader;
+
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.BeforeAll;
+
+public class BrowserServerHooks {
+	// order=20000 → after GlobalHooks.suiteInit (pre-flight); no-op unless browser.server=true
+	@BeforeAll(order = 20000)
+	public static void startServers() throws IOException {
+		List<String> matrix = BrowserMatrix.browsers();
+		BrowserServer.startAll(matrix.isEmpty() ? List.of(PropertiesLoader.effectiveBrowserCached()) : matrix);
+	}
+
+	// order=20000 → runs before GlobalHooks.globalTeardown publishes Extent metadata
+	@AfterAll(order = 20000)
+	public static void reportStartup() {
+		BrowserManager.reportStartupMetrics();
+		BrowserMatrix.reportMetrics();
+	}
+
+	// order=0 → runs last, after every worker is done with the shared browsers
+	@AfterAll(order = 0)
+	public static void stopServers() {
+		BrowserServer.stopAll();
+	}
+}
@@ -0,0 +1,32 @@
+package hooks;
+
+import java.io.IOException;
+import java.util.Set;
+
+import com.cro.coverage.RouteCoverage;
+import com.cro.coverage.RouteCoverageIndex;
+import com.cro.features.PickleInfo;
+
+import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.Scenario;
+import io.cucumber.java.Status;
+
+public class CoverageHooks {
+
+	// order=20000 → runs before ScenarioHooks.after closes the context
+	@After(order = 20000)
+	public void recordRoutes(Scenario scenario) {
+		Set<String> routes = RouteCoverage.takeRoutes();
+		if (routes != null) {
+			RouteCoverageIndex.record(PickleInfo.id(scenario.getUri().toString(), scenario.getLine()),
+					scenario.getName(), routes, scenario.getStatus() == Status.PASSED);
+		}
+	}
+
+	// order=20000 → runs before GlobalHooks.globalTeardown publishes Extent metadata
+	@AfterAll(order = 20000)
+	public static void saveIndex() throws IOException {
+		RouteCoverageIndex.save();
+	}
+}
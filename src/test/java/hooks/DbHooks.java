@@ -1,10 +1,44 @@
 package hooks;
 
+import java.io.IOException;
+import java.sql.SQLException;
+
+import com.cro.db.DbFixtures;
+import com.cro.db.DbManager;
+
+import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
 import io.cucumber.java.Before;
+import io.cucumber.java.BeforeAll;
+import io.cucumber.java.Scenario;
 
 public class DbHooks {
+	// One bounded pool for the whole run (no-op when enable.db=false), fixture set loaded + snapshotted once
+	@BeforeAll
+	public static void initPool() throws IOException, SQLException {
+		DbManager.init();
+		DbFixtures.loadAndSnapshot();
+	}
+
+	// Restore the snapshot if dirty (new feature / @dirty_db), then lease a connection and open the scenario transaction
 	@Before(order=2)
-	public void connectToDB() {
-		System.out.println("This will connect to application database.");
+	public void connectToDB(Scenario scenario) throws SQLException {
+		DbFixtures.beforeScenario(scenario.getUri(), scenario.getSourceTagNames());
+		DbManager.beginScenario();
+	}
+
+	// Roll back everything the scenario wrote and return the connection to the pool
+	@After(order=20000)
+	public void rollbackDB(Scenario scenario) {
+		DbManager.rollbackScenario();
+		DbFixtures.afterScenario(scenario.getName(), scenario.getSourceTagNames());
+	}
+
+	// order=20000 → runs before GlobalHooks.globalTeardown publishes Extent metadata
+	@AfterAll(order=20000)
+	public static void closePool() {
+		DbManager.reportMetrics();
+		DbFixtures.reportMetrics();
+		DbManager.shutdown();
 	}
 }
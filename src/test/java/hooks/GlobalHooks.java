@@ -1,9 +1,16 @@
 package hooks;
 import java.io.IOException;
+import java.util.List;
 import java.util.Properties;
 import com.aventstack.extentreports.service.ExtentService;
 import com.cro.extentreporting.ExtentReportMetada;
 import com.cro.playwright.BrowserManager;
+import com.cro.playwright.BrowserSupervisor;
+import com.cro.playwright.ContextRecycler;
+import com.cro.playwright.SessionStore;
+import com.cro.resilience.AdaptiveConcurrency;
+import com.cro.resilience.CircuitBreaker;
+import com.cro.resilience.PreflightCheck;
 import com.cro.settings.PathConfig;
 import com.cro.settings.PathManager;
 import com.cro.settings.PropertiesLoader;
@@ -32,6 +39,8 @@ public class GlobalHooks {
         if (baseUrl == null || baseUrl.isBlank()) {
             throw new IllegalStateException("Missing required property 'base.url' for env: " + env);
         }
+        // 2b) Pre-flight: base.url + login endpoint reachable (concurrent, short timeout)
+        PreflightCheck.run();
         System.out.println("[GlobalHooks] Loaded env config for: " + env);
         System.out.println("[GlobalHooks] Effective Browser: " + browser);
         System.out.println("[GlobalHooks] Base URL: " + baseUrl);
@@ -41,7 +50,8 @@ public class GlobalHooks {
      // 🔹 Collect metadata for extent report(NO publishing here)
         ExtentReportMetada.put("Environment", env);
         ExtentReportMetada.put("OS Version", OSName);
-	    ExtentReportMetada.put("Browser", browser);
+	    List<String> matrix = PropertiesLoader.matrixBrowsersCached();
+	    ExtentReportMetada.put("Browser", matrix.isEmpty() ? browser : "matrix " + String.join(", ", matrix));
 	    ExtentReportMetada.put("Execution URL",applicationURL);
 	    ExtentReportMetada.put("Base Directory",PathManager.baseDirPath().toString());
 	    ExtentReportMetada.put("Reports Directory",PathManager.reportDir().toString());
@@ -85,9 +95,14 @@ public class GlobalHooks {
         );
     }
 	@AfterAll
-    public static void globalTeardown() {
+    public static void globalTeardown() throws IOException {
         System.out.println("Run completed. Cleanup if needed."); 
       //Extent Report publish everything before closing
+        CircuitBreaker.reportMetrics();
+        AdaptiveConcurrency.stopAndReport();
+        SessionStore.reportMetrics();
+        ContextRecycler.reportMetrics();
+        BrowserSupervisor.reportMetrics();
         ExtentReportMetada.publishOnce();
         BrowserManager.closePlaywright();
     }
@@ -0,0 +1,35 @@
+package hooks;
+
+import java.io.IOException;
+
+import com.cro.playwright.BrowserManager;
+import com.cro.playwright.HarNetwork;
+
+import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+
+public class HarHooks {
+
+	// order=20000 → runs after ScenarioHooks.before opened the scenario context, before any step navigates
+	@Before(order = 20000)
+	public void routeThroughHar(Scenario scenario) throws IOException {
+		HarNetwork.attach(BrowserManager.getContext(), scenario.getUri());
+	}
+
+	// order=0 → runs after ScenarioHooks.after closed the context (Playwright writes the recorded HAR on close)
+	@After(order = 0)
+	public void finishHar(Scenario scenario) throws IOException {
+		String summary = HarNetwork.finish();
+		if (summary != null) {
+			scenario.log(summary);
+		}
+	}
+
+	// order=20000 → runs before GlobalHooks.globalTeardown publishes Extent metadata
+	@AfterAll(order = 20000)
+	public static void reportHar() throws IOException {
+		HarNetwork.reportMetrics();
+	}
+}
@@ -0,0 +1,34 @@
+package hooks;
+
+import java.io.IOException;
+
+import com.cro.incremental.IncrementalResultCache;
+import com.cro.playwright.BrowserMatrix;
+
+import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.Scenario;
+import io.cucumber.java.Status;
+
+public class IncrementalHooks {
+
+	// order=0 → runs LAST among @After hooks, so failures in other teardown hooks are already reflected
+	@After(order = 0)
+	public void recordResult(Scenario scenario) {
+		IncrementalResultCache cache = IncrementalResultCache.get();
+		if (cache != null) {
+			// matrix run: recorded per browser copy of the scenario
+			cache.recordResult(scenario.getUri(), scenario.getLine(), BrowserMatrix.matrixBrowser(),
+					scenario.getStatus() == Status.PASSED);
+		}
+	}
+
+	// order=20000 → runs before GlobalHooks.globalTeardown publishes Extent metadata
+	@AfterAll(order = 20000)
+	public static void saveCache() throws IOException {
+		IncrementalResultCache cache = IncrementalResultCache.get();
+		if (cache != null) {
+			cache.save();
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package hooks;
+
+import com.cro.mocks.NetworkMocks;
+import com.cro.playwright.BrowserManager;
+
+import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+
+public class MockHooks {
+
+	// order=20010 → after HarHooks (20000): routes registered later run first, so mocks win over HAR entries
+	@Before(order = 20010)
+	public void installMocks(Scenario scenario) {
+		NetworkMocks.install(BrowserManager.getContext(), scenario.getSourceTagNames());
+	}
+
+	@After(order = 20000)
+	public void logMockCalls(Scenario scenario) {
+		String summary = NetworkMocks.finish();
+		if (summary != null) {
+			scenario.log(summary);
+		}
+	}
+
+	// order=20000 → runs before GlobalHooks.globalTeardown publishes Extent metadata
+	@AfterAll(order = 20000)
+	public static void reportMocks() {
+		NetworkMocks.reportMetrics();
+	}
+}
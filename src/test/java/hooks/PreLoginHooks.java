@@ -0,0 +1,23 @@
+package hooks;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.cro.playwright.PreLogin;
+
+import io.cucumber.java.BeforeAll;
+import io.cucumber.testng.CucumberOptions;
+import runners.RunCucumberTest;
+
+public class PreLoginHooks {
+
+	// order=30000 → after GlobalHooks.suiteInit (pre-flight) and BrowserServerHooks (shared browsers), before any scenario
+	@BeforeAll(order = 30000)
+	public static void preLogin() throws IOException {
+		CucumberOptions options = RunCucumberTest.class.getAnnotation(CucumberOptions.class);
+		// -Dcucumber.features / -Dcucumber.filter.tags override the runner annotation, as in Cucumber itself
+		String features = System.getProperty("cucumber.features");
+		String tags = System.getProperty("cucumber.filter.tags", options.tags());
+		PreLogin.run(features != null ? List.of(features.split(",")) : List.of(options.features()), tags);
+	}
+}
@@ -0,0 +1,17 @@
+package hooks;
+
+import java.io.IOException;
+
+import com.cro.retry.RetryQueue;
+
+import io.cucumber.java.AfterAll;
+
+public class RetryHooks {
+
+	// Cucumber's AfterAll runs on runner teardown, i.e. after the retry pass.
+	// order=20000 → runs before GlobalHooks.globalTeardown publishes Extent metadata
+	@AfterAll(order = 20000)
+	public static void reportRetries() throws IOException {
+		RetryQueue.reportMetrics();
+	}
+}
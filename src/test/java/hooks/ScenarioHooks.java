@@ -7,12 +7,13 @@ import com.cro.extentreporting.ExtentReportMetada;
 import com.cro.listeners.ScenarioContext;
 import com.cro.playwright.BrowserInfo;
 import com.cro.playwright.BrowserManager;
+import com.cro.playwright.BrowserMatrix;
+import com.cro.playwright.ContextRecycler;
 import com.cro.playwright.LoginFlow;
 import com.cro.playwright.RoleResolver;
 import com.cro.playwright.SessionManager;
-import com.cro.settings.PathManager;
+import com.cro.resilience.CircuitBreaker;
 import com.cro.settings.PropertiesLoader;
-import com.microsoft.playwright.BrowserContext;
  
 import io.cucumber.java.After;
 import io.cucumber.java.AfterStep;
@@ -32,10 +33,13 @@ public class ScenarioHooks {
     @Before(order = 0)
     public void before(Scenario scenario) throws IOException {
  
+        // Environment already declared down → fail before launching contexts / waiting out timeouts
+        CircuitBreaker.checkClosed();
+ 
         // =========================
         // Resolve execution inputs
         // =========================
-        String browser = PropertiesLoader.effectiveBrowserCached();
+        String browser = BrowserMatrix.currentBrowser(); // matrix browser of this run, else effective browser
         String role = RoleResolver.resolve(scenario);
         String username = PropertiesLoader.getUsernameForRole(role);
         String password = PropertiesLoader.getPasswordForRole(role);
@@ -47,40 +51,24 @@ public class ScenarioHooks {
         // Browser init (ThreadLocal)
         // =========================
         BrowserManager.initBrowser(browser);
-        BrowserInfo.captureOnce(BrowserManager.getBrowserVersion());
+        if (BrowserMatrix.isMatrixScenario()) {
+            BrowserMatrix.tagReport(browser);
+            BrowserInfo.captureOnce(browser, BrowserManager.getBrowserVersion());
+        } else {
+            BrowserInfo.captureOnce(BrowserManager.getBrowserVersion());
+        }
  
         // =========================
         // Session handling (role+user)
         // =========================
-        Path sessionPath = SessionManager.getOrCreateSession(role, username, () -> {
- 
-            // 🔐 First thread per role+user only
-            BrowserManager.createContext();
- 
-            try {
-                BrowserManager.getPage().navigate(
-                        PropertiesLoader.loadCached().getProperty("base.url")
-                );
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }           
-            // ✅ NON-STATIC flow call (Pico managed)
-            loginFlow.performLogin(role, username, password);
- 
-            // Persist storage state
-            BrowserManager.getContext().storageState(
-                new BrowserContext.StorageStateOptions()
-                    .setPath(PathManager.sessionDir()
-                        .resolve(role + "_" + username + ".json"))
-            );
- 
-            BrowserManager.closeContext();
-        });
+        // 🔐 First thread per role+user only (usually already done by pre-login at suite start)
+        Path sessionPath = SessionManager.getOrCreateSession(role, username,
+                () -> loginFlow.createSession(role, username, password)); // ✅ NON-STATIC flow call (Pico managed)
  
         // =========================
-        // Fresh context per scenario
+        // Context per scenario (recycled per role with -Dcontext.recycle=true)
         // =========================
-        BrowserManager.createContext(sessionPath);
+        ContextRecycler.open(role, sessionPath, scenario.getSourceTagNames());
  
         System.out.println(
             "[HOOK] Thread=" + Thread.currentThread().getName() +
@@ -117,7 +105,7 @@ public class ScenarioHooks {
     }
  
     @After
-    public void after(Scenario scenario) {
-        BrowserManager.closeContext();
+    public void after(Scenario scenario) throws IOException {
+        ContextRecycler.close(scenario.isFailed());
     }
 }
\ No newline at end of file
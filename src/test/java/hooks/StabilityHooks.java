@@ -0,0 +1,32 @@
+package hooks;
+
+import com.cro.playwright.StabilityWait;
+
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.AfterStep;
+import io.cucumber.java.BeforeStep;
+import io.cucumber.java.Scenario;
+
+public class StabilityHooks {
+
+	// Waits from @Before hooks (login, navigation to the start page) are not charged to the first step
+	@BeforeStep
+	public void resetStepWaits() {
+		StabilityWait.takeStepWaits();
+	}
+
+	// Time the step spent in stability waits (explicit waitForStable + post-navigation settles)
+	@AfterStep
+	public void logStepWaits(Scenario scenario) {
+		String waits = StabilityWait.takeStepWaits();
+		if (waits != null) {
+			scenario.log(waits);
+		}
+	}
+
+	// order=20000 → runs before GlobalHooks.globalTeardown publishes Extent metadata
+	@AfterAll(order = 20000)
+	public static void reportStabilityWaits() {
+		StabilityWait.reportMetrics();
+	}
+}
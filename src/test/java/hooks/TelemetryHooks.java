@@ -0,0 +1,34 @@
+package hooks;
+
+import java.io.IOException;
+
+import com.cro.playwright.BrowserTelemetry;
+
+import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+
+public class TelemetryHooks {
+
+	// order=20000 → runs after ScenarioHooks.before launched the browser and opened the scenario context
+	@Before(order = 20000)
+	public void startTelemetry() throws IOException {
+		BrowserTelemetry.start();
+	}
+
+	// order=20000 → runs before ScenarioHooks.after closes the context, so the scenario's renderers are still sampled
+	@After(order = 20000)
+	public void attachTelemetry(Scenario scenario) {
+		String summary = BrowserTelemetry.stop(scenario.getName());
+		if (summary != null) {
+			scenario.log(summary);
+		}
+	}
+
+	// order=20000 → runs before GlobalHooks.globalTeardown publishes Extent metadata
+	@AfterAll(order = 20000)
+	public static void reportTelemetry() {
+		BrowserTelemetry.reportMetrics();
+	}
+}
@@ -0,0 +1,15 @@
+package hooks;
+
+import com.cro.testdata.TestDataManager;
+
+import io.cucumber.java.After;
+
+public class TestDataHooks {
+
+	// @After hooks run in DESCENDING order: 20000 runs before ScenarioHooks.after (default 10000)
+	// so the context and its session cookies are still alive for the batched cleanup call.
+	@After(order = 20000)
+	public void deleteSeededData() {
+		TestDataManager.deleteAllCreated();
+	}
+}
@@ -2,24 +2,41 @@ package hooks;
  
 import com.cro.listeners.LogBridge;
 import com.cro.listeners.ScenarioContext;
+import com.cro.playwright.BrowserEventBuffer;
+import com.cro.playwright.BrowserManager;
+import com.cro.reporting.ScreenshotStore;
+import com.cro.reporting.ScreenshotStore.Mode;
  
 import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.AfterStep;
 import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
  
 public class UIHooks {
-	@After
+
+	// screenshot.mode=all → one screenshot per step; unchanged pages are deduplicated by ScreenshotStore
+	@AfterStep
+	public void stepScreenshot(Scenario scenario) {
+		if (ScreenshotStore.mode() == Mode.ALL) {
+			attachScreenshot(scenario, "Step screenshot");
+		}
+	}
+
+	// order=20000 → runs before ScenarioHooks.after closes the context, so the page can still be captured
+	@After(order = 20000)
 	public void tearDown(Scenario scenario) {
-		System.out.println("*** Screenshot condition need to update for all steps performed. ***********");	
 		if (scenario.isFailed()) {
  
-	        // Placeholder: Screenshot
-	        try {
-	            LogBridge.error("Attaching screenshot (placeholder)");
-	            // byte[] screenshot = PlaywrightManager.page().screenshot(...);
-	            // scenario.attach(screenshot, "image/png", "Failed Screenshot");
-	        } catch (Exception e) {
-	            LogBridge.error("Failed to capture screenshot: " + e.getMessage());
+	        if (ScreenshotStore.mode() == Mode.FAILED) { // with mode=all the failing step is already captured
+	            attachScreenshot(scenario, "Failed Screenshot");
+	        }
+
+	        // Console errors, page errors and failed / 5xx requests that preceded the failure
+	        String browserEvents = BrowserEventBuffer.dump();
+	        if (browserEvents != null) {
+	            scenario.log(browserEvents);
+	            System.out.println("[BrowserEvents] dumped for failed scenario: " + scenario.getName());
 	        }
  
 	        // Placeholder: Trace
@@ -31,8 +48,27 @@ public class UIHooks {
 	            LogBridge.error("Failed to attach trace: " + e.getMessage());
 	        }
 	    }
- 
+	    BrowserEventBuffer.clear(); // passed (or already dumped): the next scenario starts empty
+	}
+
+	@After
+	public void clearScenarioContext() {
 	    ScenarioContext.clear();
 	}
+
+	// order=20000 → runs before GlobalHooks.globalTeardown publishes Extent metadata
+	@AfterAll(order = 20000)
+	public static void reportScreenshots() {
+		ScreenshotStore.reportMetrics();
+		BrowserEventBuffer.reportMetrics();
+	}
+
+	private static void attachScreenshot(Scenario scenario, String label) {
+		try {
+			scenario.log(ScreenshotStore.html(ScreenshotStore.capture(BrowserManager.getPage()), label));
+		} catch (Exception e) {
+			LogBridge.error("Failed to capture screenshot: " + e.getMessage());
+		}
+	}
  
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package runners;
+
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+
+/*
+* One pickle bound to one browser of the matrix (-Dbrowsers=...).
+* toString() is what TestNG shows as the test parameter, so results read "[firefox] scenario name".
+*/
+public final class BrowserPickleWrapper implements PickleWrapper {
+
+	private final PickleWrapper delegate;
+	private final String browser;
+
+	public BrowserPickleWrapper(PickleWrapper delegate, String browser) {
+		this.delegate = delegate;
+		this.browser = browser;
+	}
+
+	@Override
+	public Pickle getPickle() {
+		return delegate.getPickle();
+	}
+
+	public String browser() {
+		return browser;
+	}
+
+	@Override
+	public String toString() {
+		return "[" + browser + "] " + delegate;
+	}
+}
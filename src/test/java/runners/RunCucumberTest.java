@@ -1,23 +1,251 @@
 package runners;
  
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+ 
+import org.testng.ITestContext;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+ 
+import com.aventstack.extentreports.service.ExtentService;
+import com.cro.coverage.RouteCoverageIndex;
+import com.cro.extentreporting.ExtentAdapterPlugin;
+import com.cro.features.FeatureIndex;
+import com.cro.features.PickleInfo;
+import com.cro.incremental.IncrementalResultCache;
+import com.cro.playwright.BrowserMatrix;
+import com.cro.resilience.AdaptiveConcurrency;
+import com.cro.resilience.CircuitBreaker;
+import com.cro.retry.RetryQueue;
  
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
  
 @CucumberOptions(features = "src/test/resources/features", // feature folder path
 		glue = { "steps", "hooks" },
 		// tags="@smoke or @regression",// step definition path
  
 		plugin = { "pretty", "html:target/cucumber-report.html",
-				"com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:",
-				"com.cro.listeners.CucumberEventListener" }
+				"com.cro.extentreporting.ExtentAdapterPlugin", // Extent adapter, off with report.streaming=true
+				"com.cro.listeners.CucumberEventListener", "com.cro.jfr.JfrEventListener",
+				"com.cro.reporting.StreamingReportWriter" }
  
 )
 public class RunCucumberTest extends AbstractTestNGCucumberTests {
+	// Before Cucumber reads any feature: with a tag filter, only the features holding matching pickles are handed to it
+	@Override
+	@BeforeClass(alwaysRun = true)
+	public void setUpClass(ITestContext context) {
+		try {
+			if (FeatureIndex.isEnabled()) {
+				narrowFeatures();
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to read feature.index", e);
+		}
+		super.setUpClass(context);
+	}
+
+	// Main pass: with retry.count > 0 a failure is queued for the retry pass instead of failing here
+	@Override
+	@Test(groups = "cucumber", description = "Runs Cucumber Scenarios", dataProvider = "scenarios")
+	public void runScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) {
+		skipIfCachedPass(pickleWrapper);
+		long start = System.currentTimeMillis();
+		try {
+			runGuarded(pickleWrapper, featureWrapper);
+		} catch (RuntimeException | Error e) {
+			// no retry when the environment is down: the circuit breaker already fails the rest fast
+			if (retryCount() == 0 || e instanceof SkipException || CircuitBreaker.isOpen()) {
+				throw e;
+			}
+			Pickle pickle = pickleWrapper.getPickle();
+			RetryQueue.queue(new Object[] { pickleWrapper, featureWrapper }, scenarioId(pickleWrapper), pickle.getName(),
+					System.currentTimeMillis() - start, e);
+			throw new SkipException("First attempt failed, queued for retry: " + e.getMessage(), e);
+		}
+	}
+ 
+	// Retry pass: runs after the main pass, retry.threads at a time, up to retry.count attempts per scenario
+	@Test(groups = "cucumber", description = "Retries failed Cucumber Scenarios", dataProvider = "failedScenarios",
+			dependsOnMethods = "runScenario", alwaysRun = true)
+	public void retryScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) throws Exception {
+		String id = scenarioId(pickleWrapper);
+		int attempts = retryCount();
+		RetryQueue.acquire();
+		try {
+			for (int attempt = 1; ; attempt++) {
+				long start = System.currentTimeMillis();
+				try {
+					runGuarded(pickleWrapper, featureWrapper);
+					RetryQueue.recordAttempt(id, attempt, true, System.currentTimeMillis() - start);
+					RetryQueue.recordOutcome(id, attempt + 1, RetryQueue.Outcome.FLAKY_PASSED);
+					return;
+				} catch (RuntimeException | Error e) {
+					RetryQueue.recordAttempt(id, attempt, false, System.currentTimeMillis() - start);
+					if (attempt >= attempts) {
+						RetryQueue.recordOutcome(id, attempt + 1, RetryQueue.Outcome.FAILED);
+						throw e;
+					}
+					RetryQueue.markRetried(id, attempt + 1); // attempt 1 is the main pass
+				}
+			}
+		} finally {
+			RetryQueue.release();
+		}
+	}
+ 
+	// Feeds every result to the circuit breaker (ScenarioHooks.before fails fast once it is open)
+	private void runGuarded(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) {
+		try {
+			// admission (adaptive concurrency, pass-through when off) before taking a matrix browser slot
+			AdaptiveConcurrency.run(() -> {
+				if (pickleWrapper instanceof BrowserPickleWrapper matrix) {
+					BrowserMatrix.run(matrix.browser(), () -> super.runScenario(pickleWrapper, featureWrapper));
+				} else {
+					super.runScenario(pickleWrapper, featureWrapper);
+				}
+			});
+			CircuitBreaker.recordSuccess();
+		} catch (RuntimeException | Error e) {
+			CircuitBreaker.recordFailure(pickleWrapper.getPickle().getName(), e);
+			throw e;
+		}
+	}
+ 
+	@DataProvider(parallel = true)
+	public Object[][] failedScenarios() {
+		return RetryQueue.drain();
+	}
+ 
 	@Override
 	@DataProvider(parallel = true) // <— enables scenario-level parallelism
 	public Object[][] scenarios() {
-		return super.scenarios();
+		Object[][] scenarios = super.scenarios();
+		try {
+			List<String> browsers = BrowserMatrix.browsers();
+			if (IncrementalResultCache.isEnabled()) {
+				markCachedPasses(scenarios, browsers);
+			}
+			List<String> changedRoutes = RouteCoverageIndex.changedRoutes();
+			if (!changedRoutes.isEmpty()) {
+				scenarios = selectImpacted(scenarios, changedRoutes);
+			}
+			if (!browsers.isEmpty()) {
+				scenarios = expandMatrix(scenarios, browsers);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to prepare scenario selection", e);
+		}
+		return scenarios;
+	}
+ 
+	private static int retryCount() {
+		try {
+			return RetryQueue.retryCount();
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to read retry.count", e);
+		}
+	}
+ 
+	// Matrix copies of a pickle share uri:line, so their id carries the browser ("browser|uri:line")
+	private static String scenarioId(PickleWrapper pickleWrapper) {
+		Pickle pickle = pickleWrapper.getPickle();
+		return PickleInfo.id(pickle.getUri().toString(), pickle.getLine(), matrixBrowser(pickleWrapper));
+	}
+
+	private static String matrixBrowser(PickleWrapper pickleWrapper) {
+		return (pickleWrapper instanceof BrowserPickleWrapper matrix) ? matrix.browser() : null;
+	}
+ 
+	// cucumber.filter.tags set → cucumber.features = uri:line of the matching pickles, from the persistent FeatureIndex
+	private static void narrowFeatures() {
+		String tags = System.getProperty("cucumber.filter.tags", RunCucumberTest.class.getAnnotation(CucumberOptions.class).tags());
+		String features = System.getProperty("cucumber.features");
+		List<String> paths = (features != null) ? List.of(features.split(","))
+				: List.of(RunCucumberTest.class.getAnnotation(CucumberOptions.class).features());
+		// line filters, rerun files and classpath features are left to Cucumber as given
+		if (tags.isBlank() || paths.stream().anyMatch(p -> p.startsWith("@") || p.startsWith("classpath:") || p.matches(".*:\\d+$"))) {
+			return;
+		}
+		FeatureIndex index = FeatureIndex.load(paths);
+		List<PickleInfo> selected = index.select(tags);
+		if (selected.isEmpty()) return; // Cucumber reports "0 scenarios" itself
+		List<String> narrowed = index.toFeaturePaths(selected);
+		System.setProperty("cucumber.features", String.join(",", narrowed));
+		System.out.println("[FeatureIndex] '" + tags + "' → " + selected.size() + " of " + index.pickles().size()
+				+ " pickle(s) in " + narrowed.size() + " feature(s)");
+	}
+
+	// -Dincremental=true → find scenarios whose inputs are unchanged since their last pass (skipped by runScenario);
+	// in a browser matrix each browser copy is looked up on its own
+	private static void markCachedPasses(Object[][] scenarios, List<String> browsers) throws IOException {
+		IncrementalResultCache cache = IncrementalResultCache.init(
+				List.of(RunCucumberTest.class.getAnnotation(CucumberOptions.class).glue()));
+		List<String> copies = browsers.isEmpty() ? Collections.singletonList(null) : browsers;
+		int total = 0;
+		int cached = 0;
+		for (Object[] row : scenarios) {
+			Pickle pickle = ((PickleWrapper) row[0]).getPickle();
+			for (String browser : copies) {
+				total++;
+				if (cache.isCachedPass(pickle.getUri(), pickle.getLine(), browser, pickle.getName())) {
+					cached++;
+				}
+			}
+		}
+		System.out.println("[Incremental] " + (total - cached) + " of " + total
+				+ " scenario(s) to run, " + cached + " skipped-cached");
+	}
+
+	// A cached pass stays a test of the run: reported as skipped (TestNG, and Extent when its adapter is active)
+	private static void skipIfCachedPass(PickleWrapper pickleWrapper) {
+		Pickle pickle = pickleWrapper.getPickle();
+		IncrementalResultCache cache = IncrementalResultCache.get();
+		if (cache == null || !cache.isSkippedCached(pickle.getUri(), pickle.getLine(), matrixBrowser(pickleWrapper))) return;
+		String reason = "skipped-cached: passed last time with unchanged inputs (" + scenarioId(pickleWrapper) + ")";
+		System.out.println("[Incremental] " + reason + " | " + pickle.getName());
+		if (ExtentAdapterPlugin.isActive()) {
+			try {
+				ExtentService.getInstance().createTest(pickle.getName()).assignCategory("skipped-cached").skip(reason);
+			} catch (Throwable t) {
+				// Extent not available: TestNG still reports the skip
+			}
+		}
+		throw new SkipException(reason);
+	}
+ 
+	// -Dbrowsers=chrome,firefox,... → one row per pickle and browser, interleaved so every browser runs concurrently
+	private static Object[][] expandMatrix(Object[][] scenarios, List<String> browsers) {
+		List<Object[]> expanded = new ArrayList<>(scenarios.length * browsers.size());
+		for (Object[] row : scenarios) {
+			for (String browser : browsers) {
+				expanded.add(new Object[] { new BrowserPickleWrapper((PickleWrapper) row[0], browser), row[1] });
+			}
+		}
+		System.out.println("[BrowserMatrix] " + scenarios.length + " scenario(s) x " + browsers + " = " + expanded.size()
+				+ " run(s)");
+		return expanded.toArray(new Object[0][]);
+	}
+ 
+	// -Dchanged.routes=... → only scenarios whose recorded route coverage touches a changed route
+	private static Object[][] selectImpacted(Object[][] scenarios, List<String> changedRoutes) throws IOException {
+		RouteCoverageIndex.Selector selector = RouteCoverageIndex.selector(changedRoutes);
+		List<Object[]> selected = new ArrayList<>();
+		for (Object[] row : scenarios) {
+			Pickle pickle = ((PickleWrapper) row[0]).getPickle();
+			if (selector.isImpacted(pickle.getUri(), pickle.getLine())) {
+				selected.add(row);
+			}
+		}
+		selector.report(scenarios.length);
+		return selected.toArray(new Object[0][]);
 	}
-}
\ No newline at end of file
+}
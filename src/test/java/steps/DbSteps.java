@@ -0,0 +1,32 @@
+package steps;
+
+import java.sql.SQLException;
+
+import com.cro.db.DbManager;
+
+import io.cucumber.java.en.Then;
+
+public class DbSteps {
+
+	//Generic verification query, e.g. Then the database query "select count(*) from country where name='abc'" returns "1"
+	@Then("the database query {string} returns {string}")
+	public void the_database_query_returns(String sql, String expected) throws SQLException {
+		Object actual = DbManager.queryForValue(sql);
+		if (!expected.equals(String.valueOf(actual))) {
+			throw new AssertionError("Query [" + sql + "] expected '" + expected + "' but was '" + actual + "'");
+		}
+	}
+
+	@Then("the database table {string} has {int} row(s) where {string} is {string}")
+	public void the_database_table_has_rows_where_is(String table, int expected, String column, String value)
+			throws SQLException {
+		if (!table.matches("[A-Za-z0-9_.]+") || !column.matches("[A-Za-z0-9_]+")) {
+			throw new IllegalArgumentException("Invalid table/column name: " + table + "." + column);
+		}
+		Object count = DbManager.queryForValue("SELECT COUNT(*) FROM " + table + " WHERE " + column + " = ?", value);
+		if (((Number) count).intValue() != expected) {
+			throw new AssertionError("Table " + table + " has " + count + " row(s) where " + column + "='" + value
+					+ "', expected " + expected);
+		}
+	}
+}
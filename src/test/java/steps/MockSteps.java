@@ -0,0 +1,19 @@
+package steps;
+
+import com.cro.mocks.NetworkMocks;
+
+import io.cucumber.java.en.Then;
+
+public class MockSteps {
+
+	//Stub names come from the mock file selected by the scenario's @mock_* tag, e.g. Then the mock "countries-list" was called 1 time
+	@Then("the mock {string} was called {int} time(s)")
+	public void the_mock_was_called_times(String stub, int times) {
+		NetworkMocks.assertCalled(stub, times);
+	}
+
+	@Then("the mock {string} was not called")
+	public void the_mock_was_not_called(String stub) {
+		NetworkMocks.assertCalled(stub, 0);
+	}
+}
@@ -1,13 +1,24 @@
 package steps;
 
+import java.util.Map;
+
+import com.cro.testdata.TestDataManager;
+
+import io.cucumber.java.en.Given;
 import io.cucumber.java.en.When;
 
 public class SystemConfigurationSteps {	
 	
-	//Add country functionality specific for this page
+	//Add country functionality specific for this page (UI creation: only for scenarios testing creation itself)
 	@When("the user adds a country named {string} and activates it")
 	public void the_user_adds_a_country_named_and_activates_it(String string) {
 	   
 	}
+
+	//Precondition only: seeded through the API with the scenario's session, removed in @After
+	@Given("an active country named {string} exists")
+	public void an_active_country_named_exists(String country) {
+		TestDataManager.create("country", country, Map.of("active", true));
+	}
 	
 }
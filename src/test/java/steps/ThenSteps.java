@@ -1,20 +1,41 @@
 package steps;
 
+import java.util.List;
+import java.util.Map;
+
+import com.cro.testdata.TestDataManager;
+import com.cro.utils.ControlTableVerifier;
+
 import io.cucumber.java.en.Then;
 
 public class ThenSteps {
+
+	private final ControlTableVerifier controlTableVerifier;
+
+	// PicoContainer injects the verifier (and its UIActions/PageProvider chain)
+	public ThenSteps(ControlTableVerifier controlTableVerifier) {
+		this.controlTableVerifier = controlTableVerifier;
+	}
+
 	@Then("the user should be on the {string} tab")
 	public void the_user_should_be_on_the_tab(String string) {
 	   
 	}
 	@Then("the {string} tab displays following contols with default values")
 	public void the_tab_displays_following_contols_with_default_values(String string, io.cucumber.datatable.DataTable dataTable) {
-	    
+		// Whole table verified in one browser round trip; all mismatches reported together
+		controlTableVerifier.verify(string, dataTable.asMaps(String.class, String.class));
 	}
 	@Then("the country {string} appears in the list")
 	public void the_country_appears_in_the_list(String string) {
 	  
 	}
+	@Then("the seeded country {string} appears in the list")
+	public void the_seeded_country_appears_in_the_list(String string) {
+		// Seeded countries carry a thread-unique name, resolved from the scenario's seeded data
+		String country = TestDataManager.resolveName("country", string);
+		controlTableVerifier.verify("List(s)", List.of(Map.of("type", "text", "label", country, "expected", country)));
+	}
 	
 	//company logo check
 	@Then("the company logo {string} is visible on the top navigation bar")
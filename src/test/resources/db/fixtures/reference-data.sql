@@ -0,0 +1,12 @@
+-- Reference data fixture: loaded once per run (db.fixture=reference-data), snapshotted and
+-- restored in bulk by DbFixtures when a scenario leaves the data dirty.
+CREATE TABLE IF NOT EXISTS country (
+    id     INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name   VARCHAR(100) NOT NULL UNIQUE,
+    active BOOLEAN DEFAULT FALSE NOT NULL
+);
+
+INSERT INTO country (name, active) VALUES
+    ('India', TRUE),
+    ('United States', TRUE),
+    ('Germany', FALSE);
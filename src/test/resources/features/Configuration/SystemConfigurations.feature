@@ -27,6 +27,17 @@ Feature: System configuration page - Tabs with defaults and update capabilities
       | searchbox | Filter Items... | Filter Items... |
       | linkText  | Country Name    | Country Name    |
 
+  Scenario: Seeded active country is listed on the List(s) tab
+    Given an active country named "Seeded Country" exists
+    When the user navigates to "List(s)" tab
+    Then the seeded country "Seeded Country" appears in the list
+
+  @mock_countries
+  Scenario: List(s) tab loads countries from the mocked countries API
+    When the user navigates to "List(s)" tab
+    Then the mock "countries-list" was called 1 time
+    And the mock "countries-create" was not called
+
   Scenario Outline: Add a new active country
     When the user adds a country named "<country>" and activates it
     Then the country "<country>" appears in the list